@@ -0,0 +1,10 @@
+-- ========================================
+-- 만료된 Refresh Token 정리용 인덱스 추가 스크립트
+-- 실행 날짜: 2026-10-17
+-- ========================================
+
+-- 정리 작업의 DELETE ... WHERE expires_at < ? ORDER BY expires_at LIMIT ? 가 인덱스 범위 스캔으로 동작하도록
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+-- 변경사항 확인
+SHOW INDEX FROM refresh_tokens;
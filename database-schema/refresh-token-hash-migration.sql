@@ -0,0 +1,22 @@
+-- ========================================
+-- Refresh Token 해시 저장 전환 마이그레이션 스크립트
+-- 실행 날짜: 2026-10-17
+-- ========================================
+
+-- 기존 JWT Refresh Token 컬럼은 전환 기간 동안 유지 (사용 시 opaque 토큰으로 전환되며 NULL이 됨)
+ALTER TABLE refresh_tokens
+    MODIFY COLUMN token VARCHAR(500) NULL;
+
+-- opaque 토큰 비밀값의 SHA-256 해시 (토큰 원문은 저장하지 않음)
+ALTER TABLE refresh_tokens
+    ADD COLUMN IF NOT EXISTS token_hash BINARY(32) NULL,
+    ADD COLUMN IF NOT EXISTS previous_hash BINARY(32) NULL;
+
+-- 변경사항 확인
+DESCRIBE refresh_tokens;
+
+-- ========================================
+-- 기존 JWT Refresh Token이 모두 만료된 후 (refresh-expiration 경과 후) 실행
+-- ========================================
+-- DELETE FROM refresh_tokens WHERE token IS NOT NULL;
+-- ALTER TABLE refresh_tokens DROP COLUMN token;
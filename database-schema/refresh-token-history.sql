@@ -0,0 +1,20 @@
+-- ========================================
+-- 교체된 Refresh Token 기록 테이블 생성 스크립트
+-- 실행 날짜: 2026-10-17
+-- ========================================
+
+-- 직전 토큰보다 오래된 토큰의 재사용 감지용 (세션 삭제 시 함께 삭제)
+CREATE TABLE IF NOT EXISTS refresh_token_history (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    session_id BIGINT NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    token_hash BINARY(32) NOT NULL,
+    rotated_at DATETIME(6) NOT NULL,
+    INDEX idx_refresh_token_history_session_hash (session_id, token_hash),
+    INDEX idx_refresh_token_history_rotated_at (rotated_at),
+    CONSTRAINT fk_refresh_token_history_session FOREIGN KEY (session_id)
+        REFERENCES refresh_tokens (id) ON DELETE CASCADE
+);
+
+-- 변경사항 확인
+DESCRIBE refresh_token_history;
@@ -0,0 +1,44 @@
+-- ========================================
+-- 기기별 로그인 세션 마이그레이션 스크립트
+-- 실행 날짜: 2026-10-17
+-- ========================================
+
+-- 세션 컬럼 추가 (기존 토큰은 기기 식별자 'legacy-{id}' 세션으로 유지)
+ALTER TABLE refresh_tokens
+    ADD COLUMN IF NOT EXISTS device_id VARCHAR(100) NULL,
+    ADD COLUMN IF NOT EXISTS user_agent VARCHAR(500) NULL,
+    ADD COLUMN IF NOT EXISTS last_used_at DATETIME(6) NULL;
+
+UPDATE refresh_tokens
+SET device_id = CONCAT('legacy-', id),
+    last_used_at = COALESCE(rotated_at, created_at)
+WHERE device_id IS NULL;
+
+ALTER TABLE refresh_tokens
+    MODIFY COLUMN device_id VARCHAR(100) NOT NULL;
+
+-- 사용자별 세션 목록 조회 / 기기별 upsert용 인덱스 (user_id 외래키 인덱스도 겸함)
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT uk_refresh_tokens_user_device UNIQUE (user_id, device_id);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+-- 사용자당 1개 제약(user_id 단독 unique 인덱스) 제거 - 인덱스 이름은 Hibernate가 생성하므로 조회 후 삭제
+SET @user_unique_index = (
+    SELECT s.index_name
+    FROM information_schema.statistics s
+    WHERE s.table_schema = DATABASE()
+      AND s.table_name = 'refresh_tokens'
+      AND s.non_unique = 0
+      AND s.index_name <> 'PRIMARY'
+    GROUP BY s.index_name
+    HAVING COUNT(*) = 1 AND MAX(s.column_name) = 'user_id'
+);
+SET @drop_sql = IF(@user_unique_index IS NULL, 'SELECT 1',
+    CONCAT('ALTER TABLE refresh_tokens DROP INDEX `', @user_unique_index, '`'));
+PREPARE drop_stmt FROM @drop_sql;
+EXECUTE drop_stmt;
+DEALLOCATE PREPARE drop_stmt;
+
+-- 변경사항 확인
+SHOW INDEX FROM refresh_tokens;
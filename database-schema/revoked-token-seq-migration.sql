@@ -0,0 +1,13 @@
+-- ========================================
+-- 무효화 토큰 동기화 순번(seq) 추가 스크립트
+-- 실행 날짜: 2026-10-17
+-- ========================================
+
+-- 인스턴스마다 다른 시계로 기록되는 revoked_at 대신 DB가 부여하는 증가 번호로 다른 인스턴스의 무효화를 읽어 옴
+ALTER TABLE revoked_tokens ADD COLUMN seq BIGINT NOT NULL AUTO_INCREMENT UNIQUE;
+
+-- revoked_at 기준 동기화 인덱스는 더 이상 사용하지 않음
+DROP INDEX idx_revoked_tokens_revoked_at ON revoked_tokens;
+
+-- 변경사항 확인
+SHOW INDEX FROM revoked_tokens;
@@ -0,0 +1,16 @@
+-- ========================================
+-- 토큰 epoch 변경 기록 테이블 생성 스크립트
+-- 실행 날짜: 2026-10-17
+-- ========================================
+
+-- 인스턴스 간 epoch 동기화를 users.updated_at 대신 DB가 부여하는 순번(seq)으로 수행
+CREATE TABLE IF NOT EXISTS token_epoch_changes (
+    seq BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token_epoch INT NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    INDEX idx_token_epoch_changes_changed_at (changed_at)
+);
+
+-- 변경사항 확인
+DESCRIBE token_epoch_changes;
@@ -0,0 +1,114 @@
+package com.example.authapp.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access Token 발급/검증 비교 - jjwt 경로 vs Hs256TokenCodec
+ * - *Jjwt: JwtService의 jjwt 경로와 같은 방식 (LinkedHashMap 클레임, Date, 빌더/파서)
+ * - *VirtualThread: 요청마다 새 virtual thread에서 실행 (spring.threads.virtual.enabled=true와 같은 조건)
+ * - 할당량은 -prof gc의 gc.alloc.rate.norm (B/op) 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+@SuppressWarnings("deprecation")
+public class Hs256TokenCodecBenchmark {
+
+    private static final String EMAIL = "benchmark-user@example.com";
+    private static final long EXPIRATION_MILLIS = 86_400_000L;
+
+    private SecretKey secretKey;
+    private Hs256TokenCodec codec;
+    private JwtParser parser;
+    private String jti;
+    private String token;
+    private ExecutorService virtualThreads;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor("benchmark-secret-key-for-hs256-codec-0123456789".getBytes(StandardCharsets.UTF_8));
+        codec = new Hs256TokenCodec(secretKey);
+        parser = Jwts.parser().verifyWith(secretKey).build();
+        jti = UUID.randomUUID().toString();
+        token = mintJjwt();
+        virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Benchmark
+    public String mintJjwt() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", "USER");
+        claims.put("provider", "REGULAR");
+        claims.put("userId", 42L);
+        claims.put("email", EMAIL);
+        claims.put("jti", jti);
+        claims.put("tokenEpoch", 0);
+        Date now = new Date();
+        return Jwts.builder()
+                .claims(claims)
+                .subject(EMAIL)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRATION_MILLIS))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String mintCodec() {
+        long now = System.currentTimeMillis();
+        return codec.encode(42L, EMAIL, "USER", "REGULAR", jti, 0, now / 1000, (now + EXPIRATION_MILLIS) / 1000);
+    }
+
+    @Benchmark
+    public Claims verifyJjwt() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCodec() {
+        return codec.verify(token);
+    }
+
+    @Benchmark
+    public String mintCodecVirtualThread() throws Exception {
+        return onVirtualThread(this::mintCodec);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCodecVirtualThread() throws Exception {
+        return onVirtualThread(this::verifyCodec);
+    }
+
+    @Benchmark
+    public Claims verifyJjwtVirtualThread() throws Exception {
+        return onVirtualThread(this::verifyJjwt);
+    }
+
+    private <T> T onVirtualThread(Callable<T> task) throws Exception {
+        return virtualThreads.submit(task).get();
+    }
+}
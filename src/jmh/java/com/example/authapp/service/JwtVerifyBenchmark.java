@@ -0,0 +1,77 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService.verify 비교 - 검증 캐시 적중 vs 캐시 없이 매번 서명 검증
+ * - verifyCached: jwt.cache.enabled=true (기본) - 토큰 다이제스트로 캐시 조회
+ * - verifyUncached: jwt.cache.enabled=false - HS256 fast path(Hs256TokenCodec)로 서명 검증
+ * - verifyUncachedJjwt: jwt.cache.enabled=false, jwt.fast-path.enabled=false - jjwt 파서로 서명 검증
+ * - 세 경로 모두 denylist(Bloom 필터)와 epoch 확인을 포함 (저장소는 검증 경로에서 사용하지 않으므로 null)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class JwtVerifyBenchmark {
+
+    private static final long ACCESS_TOKEN_LIFETIME = 86_400L;
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "benchmark-secret-key-for-jwt-verify-0123456789".getBytes(StandardCharsets.UTF_8));
+
+    private JwtService cached;
+    private JwtService uncached;
+    private JwtService uncachedJjwt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = newJwtService(true, true);
+        uncached = newJwtService(false, true);
+        uncachedJjwt = newJwtService(false, false);
+        token = cached.generateAccessToken(new SessionOwner(42L, "benchmark-user@example.com", Role.USER, null, 0));
+        cached.verify(token); // 캐시 적중 경로만 측정
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncachedJjwt() {
+        return uncachedJjwt.verify(token);
+    }
+
+    private static JwtService newJwtService(boolean cacheEnabled, boolean fastPathEnabled) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, JwtKeyRing.Algorithm.HS256, true, "", ACCESS_TOKEN_LIFETIME);
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(null, false, 10, 10_000, meterRegistry);
+        return new JwtService(
+                keyRing,
+                ACCESS_TOKEN_LIFETIME,
+                604_800L,
+                new VerifiedTokenCache(cacheEnabled, 100_000, meterRegistry),
+                new TokenDenylist(null, 100_000),
+                new TokenEpochRegistry(null, null, userPrincipalCache, ACCESS_TOKEN_LIFETIME),
+                fastPathEnabled);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.authapp.service;
+
+import com.example.authapp.AuthAppApplication;
+import com.example.authapp.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 일반 로그인 사용자 조회 비교 - 전체 User 엔티티 조회 vs 자격 정보 프로젝션 + 토큰 발급용 프로젝션
+ * - 실행: ./gradlew loginLookupBenchmark (benchmark 프로파일, 전용 DB skincare_bench_db - application-benchmark.yml)
+ * - 데이터베이스 이름에 "bench"가 없으면 실행하지 않음 (운영/개발 DB에 사용자 1,000,000명을 넣지 않도록)
+ * - users 테이블에 bench-*@example.com 사용자 1,000,000명을 한 번만 채우고 이후 실행에서 재사용
+ * - 전송량은 같은 연결에서 측정한 MySQL 세션 상태 Bytes_sent 차이, 지연 시간은 로그인 1회당 조회 시간
+ */
+@Slf4j
+public final class LoginLookupBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int SAMPLES = 2_000;
+    private static final int WARMUP = 500;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    private LoginLookupBenchmark(ConfigurableApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.entityManager = context.getBean(EntityManager.class);
+    }
+
+    public static void main(String[] args) {
+        String[] arguments = new String[args.length + 1];
+        arguments[0] = "--spring.profiles.active=benchmark"; // 명령행 인자가 application.yml의 local 프로파일보다 우선
+        System.arraycopy(args, 0, arguments, 1, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthAppApplication.class).run(arguments)) {
+            new LoginLookupBenchmark(context).run();
+        }
+    }
+
+    private void run() {
+        String database = jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+        if (database == null || !database.contains("bench")) {
+            throw new IllegalStateException("벤치마크 전용 DB가 아닙니다: " + database);
+        }
+
+        seedUsers();
+        List<String> loginIds = sampleLoginIds();
+
+        Result entity = measure(loginIds, this::loadFullEntity);
+        Result projection = measure(loginIds, this::loadProjections);
+
+        log.info("Login lookup on {} users ({} logins, database: {})", USERS, SAMPLES, database);
+        log.info("  full entity : {} bytes/login, avg {}us, p99 {}us",
+                entity.bytesPerLogin(), format(entity.avgMicros()), format(entity.p99Micros()));
+        log.info("  projections : {} bytes/login, avg {}us, p99 {}us",
+                projection.bytesPerLogin(), format(projection.avgMicros()), format(projection.p99Micros()));
+        log.info("  saved       : {} bytes/login, avg {}us",
+                entity.bytesPerLogin() - projection.bytesPerLogin(), format(entity.avgMicros() - projection.avgMicros()));
+    }
+
+    // 기존 경로 - 이메일/아이디 형식에 따라 전체 엔티티 조회
+    private void loadFullEntity(String loginId) {
+        if (loginId.contains("@")) {
+            userRepository.findByEmail(loginId).orElseThrow();
+        } else {
+            userRepository.findByUsername(loginId).orElseThrow();
+        }
+    }
+
+    // 새 경로 - 자격 정보 조회 후 (검증 성공 시) 토큰 발급용 컬럼 조회
+    private void loadProjections(String loginId) {
+        Long id = userRepository.findLoginCredentials(loginId).get(0).getId();
+        userRepository.findLoginSubjectById(id).orElseThrow();
+    }
+
+    private Result measure(List<String> loginIds, Consumer<String> lookup) {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < WARMUP; i++) {
+                lookup.accept(loginIds.get(i % loginIds.size()));
+                entityManager.clear();
+            }
+
+            // 트랜잭션 안에서는 JPA와 JdbcTemplate이 같은 연결을 사용 - 상태 조회 자체의 전송량은 빈 측정으로 보정
+            long bytesBefore = bytesSent();
+            long statusOverhead = bytesSent() - bytesBefore;
+            bytesBefore += statusOverhead;
+            long[] nanos = new long[loginIds.size()];
+            for (int i = 0; i < loginIds.size(); i++) {
+                long start = System.nanoTime();
+                lookup.accept(loginIds.get(i));
+                nanos[i] = System.nanoTime() - start;
+                entityManager.clear(); // 1차 캐시 적중 방지
+            }
+            long bytes = bytesSent() - bytesBefore - statusOverhead;
+            return new Result(bytes / loginIds.size(), nanos);
+        });
+    }
+
+    private long bytesSent() {
+        return jdbcTemplate.queryForObject("SHOW SESSION STATUS LIKE 'Bytes_sent'",
+                (rs, rowNum) -> rs.getLong("Value"));
+    }
+
+    private List<String> sampleLoginIds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> loginIds = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            int n = random.nextInt(USERS);
+            loginIds.add(i % 2 == 0 ? "bench-" + n + "@example.com" : "bn" + n);
+        }
+        return loginIds;
+    }
+
+    // 프로필 컬럼까지 채운 사용자 1,000,000명 (이미 있으면 부족한 만큼만 추가)
+    private void seedUsers() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE 'bench-%@example.com'", Integer.class);
+        if (existing != null && existing >= USERS) {
+            return;
+        }
+
+        log.info("Seeding benchmark users ({} existing)", existing);
+        String password = "$2a$10$" + "a".repeat(53);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = existing == null ? 0 : existing; from < USERS; from += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int n = from; n < Math.min(from + INSERT_BATCH, USERS); n++) {
+                rows.add(new Object[]{
+                        "bench-" + n + "@example.com", "bn" + n, "Benchmark User " + n, "bench" + n,
+                        "https://cdn.example.com/profile-images/" + n + "/avatar-original-1024x1024.png",
+                        "FEMALE", "1990", "KR", password, "서울특별시 강남구 테헤란로 " + n + "길 12, 3층",
+                        true, false, 0, "USER", 0, now, now, now
+                });
+            }
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO users (email, username, name, nickname, profile_image, gender, " +
+                    "birth_year, nationality, password, address, active, is_online, analysis_count, role, token_epoch, " +
+                    "last_login_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    private static String format(double micros) {
+        return String.format("%.1f", micros);
+    }
+
+    private record Result(long bytesPerLogin, long[] nanos) {
+
+        double avgMicros() {
+            return Arrays.stream(nanos).average().orElse(0) / 1_000;
+        }
+
+        double p99Micros() {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            return sorted[(int) (sorted.length * 0.99)] / 1_000.0;
+        }
+    }
+}
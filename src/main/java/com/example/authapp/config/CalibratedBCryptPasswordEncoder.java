@@ -0,0 +1,89 @@
+package com.example.authapp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 목표 지연 시간에 맞춰 BCrypt 비용(cost)을 정하는 PasswordEncoder
+ * - 시작 시 후보 비용을 낮은 값부터 측정하여 목표 시간을 넘지 않는 가장 높은 비용을 선택
+ * - 저장된 해시의 비용이 현재 비용보다 낮으면 upgradeEncoding()이 true (로그인 시 재해싱)
+ * - 높은 비용의 해시는 낮추지 않음 - 인스턴스마다 측정값이 달라도 해시가 비용 사이를 오가며 반복 재해싱되지 않음
+ * - 여러 인스턴스가 같은 비용을 쓰려면 app.password-hashing.bcrypt.strength로 고정
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    // 목표 시간 안에 끝나는 가장 높은 비용 선택 (최소 비용은 측정 결과와 관계없이 보장)
+    public static CalibratedBCryptPasswordEncoder calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            Duration elapsed = measure(strength);
+            log.debug("BCrypt cost {} took {}ms", strength, elapsed.toMillis());
+            if (elapsed.compareTo(targetLatency) > 0) {
+                break; // 비용이 1 오를 때마다 시간은 두 배 - 이후 후보는 측정할 필요 없음
+            }
+            chosen = strength;
+        }
+        log.info("Password hashing calibrated - algorithm: bcrypt, cost: {}, target latency: {}ms",
+                chosen, targetLatency.toMillis());
+        return new CalibratedBCryptPasswordEncoder(chosen);
+    }
+
+    // 후보 비용의 해싱 시간 측정 (중앙값)
+    private static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    // 저장된 비용이 현재 값보다 낮은 경우에만 재해싱
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+        return Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
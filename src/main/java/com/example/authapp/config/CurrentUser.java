@@ -0,0 +1,22 @@
+package com.example.authapp.config;
+
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 현재 인증된 사용자(User 엔티티) 주입
+ * - entity 인증 모드: 인증 주체가 User 엔티티이므로 그대로 주입
+ * - claims 인증 모드: JwtUserPrincipal에서 User 엔티티를 지연 조회하여 주입
+ */
+@Target({ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@AuthenticationPrincipal(expression =
+        "#this instanceof T(com.example.authapp.service.JwtUserPrincipal) ? #this.user : #this")
+public @interface CurrentUser {
+}
@@ -0,0 +1,69 @@
+package com.example.authapp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 토큰 인트로스펙션 클라이언트 인증 (RFC 7662 §2.1)
+ * - 리소스 서버는 등록된 client-id/secret으로 HTTP Basic 인증 후에만 인트로스펙션 가능
+ * - 등록 형식: "client-id:secret" 쉼표 구분 (등록된 클라이언트가 없으면 모든 요청 거절)
+ * - secret은 SHA-256 다이제스트로 보관하고 상수 시간 비교
+ */
+@Slf4j
+public class IntrospectionClientAuthenticationProvider implements AuthenticationProvider {
+
+    public static final String ROLE = "ROLE_INTROSPECTION_CLIENT";
+
+    private final Map<String, byte[]> secretDigests = new HashMap<>();
+
+    public IntrospectionClientAuthenticationProvider(String clients) {
+        if (StringUtils.hasText(clients)) {
+            for (String client : clients.split(",")) {
+                int separator = client.indexOf(':');
+                if (separator <= 0 || separator == client.length() - 1) {
+                    throw new IllegalArgumentException("Invalid introspection client entry (expected client-id:secret)");
+                }
+                secretDigests.put(client.substring(0, separator).trim(), digest(client.substring(separator + 1).trim()));
+            }
+        }
+        log.info("Registered introspection clients: {}", secretDigests.keySet());
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String clientId = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        byte[] expected = secretDigests.get(clientId);
+        if (expected == null || credentials == null
+                || !MessageDigest.isEqual(expected, digest(credentials.toString()))) {
+            throw new BadCredentialsException("Invalid introspection client credentials");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(clientId, null,
+                AuthorityUtils.createAuthorityList(ROLE));
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private static byte[] digest(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
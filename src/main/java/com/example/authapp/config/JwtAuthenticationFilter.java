@@ -1,14 +1,16 @@
 package com.example.authapp.config;
 
 import com.example.authapp.service.JwtService;
-import com.example.authapp.service.UserService;
+import com.example.authapp.service.JwtUserPrincipal;
+import com.example.authapp.service.UserPrincipalCache;
+import com.example.authapp.service.VerifiedToken;
 import com.example.authapp.entity.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,11 +23,26 @@ import java.io.IOException;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // 인증 주체 생성 방식
+    public enum AuthenticationMode {
+        ENTITY, // 요청마다 User 엔티티를 조회하여 인증 주체로 사용
+        CLAIMS  // 검증된 클레임으로 JwtUserPrincipal을 만들고, User 엔티티는 필요할 때만 조회
+    }
+
     private final JwtService jwtService;
-    private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final AuthenticationMode authenticationMode;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserPrincipalCache userPrincipalCache,
+            @Value("${jwt.authentication.mode:CLAIMS}") AuthenticationMode authenticationMode) {
+        this.jwtService = jwtService;
+        this.userPrincipalCache = userPrincipalCache;
+        this.authenticationMode = authenticationMode;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -37,26 +54,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
             
             if (StringUtils.hasText(jwt)) {
-                // 토큰에서 사용자 이메일 추출
-                String userEmail = jwtService.getEmailFromToken(jwt);
+                // 토큰 검증 (서명 검증 및 만료 확인을 한 번에 수행)
+                VerifiedToken verifiedToken = jwtService.verify(jwt);
+                String userEmail = verifiedToken.email();
                 
                 if (StringUtils.hasText(userEmail) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // 사용자 정보 조회
-                    User user = userService.findByEmail(userEmail).orElse(null);
-                    
-                    if (user != null && jwtService.isTokenValid(jwt, userEmail)) {
-                        // 디버깅 로그 추가
-                        log.info("=== JWT 필터에서 사용자 인증 ===");
-                        log.info("사용자 이메일: {}", user.getEmail());
-                        log.info("사용자 닉네임: {}", user.getNickname());
-                        log.info("사용자 provider: {}", user.getProvider());
-                        
-                        // 인증 객체 생성
-                        UsernamePasswordAuthenticationToken authentication = 
-                            new UsernamePasswordAuthenticationToken(
-                                user, null, user.getRole().getAuthorities()
-                            );
-                        
+                    UsernamePasswordAuthenticationToken authentication =
+                            authenticationMode == AuthenticationMode.CLAIMS && verifiedToken.userId() != null
+                                    ? claimsAuthentication(verifiedToken)
+                                    : entityAuthentication(userEmail);
+
+                    if (authentication != null) {
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         
                         // SecurityContext에 인증 정보 설정
@@ -73,6 +81,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // 정적/공개 경로는 토큰 파싱 없이 통과
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicPathMatcher.INSTANCE.matches(request);
+    }
+
+    // 클레임 기반 인증 객체 생성 (DB 조회 없음)
+    private UsernamePasswordAuthenticationToken claimsAuthentication(VerifiedToken verifiedToken) {
+        JwtUserPrincipal principal = new JwtUserPrincipal(verifiedToken,
+                userId -> userPrincipalCache.findById(userId)
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다.")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    // User 엔티티 기반 인증 객체 생성
+    private UsernamePasswordAuthenticationToken entityAuthentication(String userEmail) {
+        // 사용자 정보 조회
+        User user = userPrincipalCache.findByEmail(userEmail).orElse(null);
+        if (user == null) {
+            return null;
+        }
+
+        log.debug("JWT 필터에서 사용자 인증 - email: {}, provider: {}", user.getEmail(), user.getProvider());
+        return new UsernamePasswordAuthenticationToken(user, null, user.getRole().getAuthorities());
+    }
+
     // Request에서 JWT 토큰 추출
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
@@ -37,7 +37,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             User user = principal.getUser();
             
             // JWT 토큰 생성
-            LoginResponse loginResponse = authService.login(user);
+            LoginResponse loginResponse = authService.login(user, null, request.getHeader("User-Agent"));
             
             log.info("OAuth2 authentication successful for user: {}", user.getEmail());
             
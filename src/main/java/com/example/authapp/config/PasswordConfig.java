@@ -1,15 +1,40 @@
 package com.example.authapp.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class PasswordConfig {
 
+    // BCrypt 해싱은 전용 실행기에서 실행 (스레드 수 0이면 CPU 코어 수)
+    // 비용은 고정값(strength)이 없으면 시작 시 목표 지연 시간에 맞춰 측정
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.password-hashing.threads:0}") int threads,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password-hashing.max-wait:2s}") Duration maxWait,
+            @Value("${app.password-hashing.retry-after:2}") long retryAfterSeconds,
+            @Value("${app.password-hashing.bcrypt.strength:0}") int strength,
+            @Value("${app.password-hashing.bcrypt.target-latency:80ms}") Duration targetLatency,
+            @Value("${app.password-hashing.bcrypt.min-strength:10}") int minStrength,
+            @Value("${app.password-hashing.bcrypt.max-strength:14}") int maxStrength,
+            MeterRegistry meterRegistry) {
+        CalibratedBCryptPasswordEncoder bcrypt = strength > 0
+                ? new CalibratedBCryptPasswordEncoder(strength)
+                : CalibratedBCryptPasswordEncoder.calibrate(targetLatency, minStrength, maxStrength);
+        Gauge.builder("auth.password.hashing.cost", bcrypt, CalibratedBCryptPasswordEncoder::getStrength)
+                .description("BCrypt cost used for new password hashes")
+                .tag("algorithm", "bcrypt")
+                .register(meterRegistry);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity,
+                maxWait, retryAfterSeconds, meterRegistry);
     }
-}
\ No newline at end of file
+}
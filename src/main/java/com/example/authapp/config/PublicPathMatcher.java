@@ -0,0 +1,49 @@
+package com.example.authapp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * 인증이 필요 없는 정적/공개 경로 매처
+ * - 패턴은 생성 시 한 번만 파싱하여 재사용 (요청마다 문자열 패턴을 해석하지 않음)
+ * - SecurityConfig의 공개 경로 전용 체인과 JwtAuthenticationFilter.shouldNotFilter에서 공통 사용
+ */
+public final class PublicPathMatcher implements RequestMatcher {
+
+    public static final PublicPathMatcher INSTANCE = new PublicPathMatcher(List.of(
+            "/uploads/**",            // 업로드된 이미지 (프로필 사진)
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/v3/api-docs/**",
+            "/favicon.ico",
+            "/.well-known/jwks.json", // 토큰 검증용 공개키
+            "/actuator/health"
+    ));
+
+    private final List<PathPattern> patterns;
+
+    private PublicPathMatcher(List<String> patterns) {
+        PathPatternParser parser = new PathPatternParser();
+        this.patterns = patterns.stream().map(parser::parse).toList();
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        String path = contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.authapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // @Scheduled 작업 활성화 (토큰 무효화 목록 동기화/정리 등)
+}
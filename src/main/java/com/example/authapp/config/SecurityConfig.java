@@ -2,9 +2,13 @@ package com.example.authapp.config;
 
 import com.example.authapp.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.FormHttpMessageConverter;
@@ -22,7 +26,9 @@ import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenRespon
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -47,7 +53,41 @@ public class SecurityConfig {
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
 
+    // 정적/공개 경로 전용 체인 - JWT 필터와 OAuth2 로그인 필터 없이 최소 구성으로 처리
     @Bean
+    @Order(1)
+    public SecurityFilterChain publicFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(PublicPathMatcher.INSTANCE)
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
+    // 토큰 인트로스펙션 전용 체인 - 등록된 리소스 서버만 HTTP Basic 클라이언트 인증 후 사용 (RFC 7662 §2.1)
+    @Bean
+    @Order(2)
+    public SecurityFilterChain introspectionFilterChain(
+            HttpSecurity http,
+            @Value("${app.introspection.clients:}") String introspectionClients) throws Exception {
+        http
+                .securityMatcher("/oauth2/introspect")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .authenticationProvider(new IntrospectionClientAuthenticationProvider(introspectionClients))
+                .httpBasic(basic -> basic.realmName("introspection"))
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasAuthority(IntrospectionClientAuthenticationProvider.ROLE));
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(3)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 // CSRF 비활성화 (JWT 사용으로 불필요)
@@ -62,22 +102,18 @@ public class SecurityConfig {
                 // 요청 권한 설정
                 .authorizeHttpRequests(auth -> auth
                         // 공개 엔드포인트
-                        .requestMatchers("/", "/login/**", "/oauth2/**", "/error", "/favicon.ico").permitAll()
+                        .requestMatchers("/", "/login/**", "/oauth2/**", "/error", "/favicon.ico").permitAll() // /oauth2/introspect는 introspectionFilterChain에서 처리
                         .requestMatchers("/api/auth/refresh").permitAll()
                         .requestMatchers("/api/auth/signup").permitAll() // 회원가입 허용 추가
                         .requestMatchers("/api/auth/login").permitAll() // 일반 로그인 허용 추가
+                        .requestMatchers("/api/auth/availability").permitAll() // 회원가입 전 이메일/아이디 확인
                         .requestMatchers("/api/oauth/**").permitAll() // OAuth API 허용 추가
-                        .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/h2-console/**").permitAll() // H2 Console 허용
                         
-                        // 정적 파일 (업로드된 이미지) 허용
-                        .requestMatchers("/uploads/**").permitAll()
-                        
                         // 개발용 API 허용 (인증 불필요)
                         .requestMatchers("/api/dev/**").permitAll()
                         
-                        // Swagger UI 허용
-                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                        // 정적 파일, Swagger UI, JWKS, 헬스 체크는 publicFilterChain에서 처리 (PublicPathMatcher)
                         
                         // API 엔드포인트 - 인증 필요
                         .requestMatchers("/api/**").authenticated()
@@ -85,6 +121,11 @@ public class SecurityConfig {
                         // 나머지 모든 요청은 인증 필요
                         .anyRequest().authenticated()
                 )
+
+                // 인증되지 않은 API 요청(토큰 없음/무효화된 토큰)은 OAuth2 로그인 페이지로 보내지 않고 401
+                .exceptionHandling(exceptions -> exceptions
+                        .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                                new AntPathRequestMatcher("/api/**")))
                 
                 // OAuth2 로그인 설정
                 .oauth2Login(oauth2 -> oauth2
@@ -97,17 +138,21 @@ public class SecurityConfig {
                 // JWT 인증 필터 추가
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 
-                // 로그아웃 설정
-                .logout(logout -> logout
-                        .logoutUrl("/api/auth/logout")
-                        .logoutSuccessUrl("/")
-                        .clearAuthentication(true)
-                        .invalidateHttpSession(true)
-                );
+                // 로그아웃은 AuthController에서 처리 (Refresh Token 삭제 + Access Token 무효화)
+                .logout(AbstractHttpConfigurer::disable);
 
         return http.build();
     }
 
+    // JwtAuthenticationFilter는 @Component이므로 서블릿 필터로 자동 등록되지 않도록 막음
+    // (보안 체인 안에서만 실행 - 공개 경로 요청에서는 실행되지 않음)
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> accessTokenResponseClient() {
         DefaultAuthorizationCodeTokenResponseClient accessTokenResponseClient = new DefaultAuthorizationCodeTokenResponseClient();
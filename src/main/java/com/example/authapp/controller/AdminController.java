@@ -5,6 +5,7 @@ import com.example.authapp.dto.response.AdminStatsResponse;
 import com.example.authapp.dto.response.ApiResponse;
 import com.example.authapp.dto.response.UserProfileResponse;
 import com.example.authapp.service.AdminService;
+import com.example.authapp.service.JwtKeyRing;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,6 +29,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class AdminController {
 
     private final AdminService adminService;
+    private final JwtKeyRing jwtKeyRing;
 
     @Operation(summary = "관리자 통계 조회")
     @GetMapping("/stats")
@@ -101,4 +103,13 @@ public class AdminController {
         UserProfileResponse user = adminService.getUser(userId);
         return ResponseEntity.ok(ApiResponse.success(user));
     }
+
+    @Operation(summary = "JWT 서명 키 교체")
+    @PostMapping("/jwt/rotate-key")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String>> rotateSigningKey() {
+        log.info("JWT 서명 키 교체 요청");
+        String kid = jwtKeyRing.rotate();
+        return ResponseEntity.ok(ApiResponse.success("서명 키가 교체되었습니다.", kid));
+    }
 }
@@ -1,15 +1,23 @@
 package com.example.authapp.controller;
 
+import com.example.authapp.config.CurrentUser;
+import com.example.authapp.dto.request.BatchTokenValidationRequest;
 import com.example.authapp.dto.request.LoginRequest;
 import com.example.authapp.dto.request.SignupRequest;
 import com.example.authapp.dto.request.TokenRequest;
 import com.example.authapp.dto.response.ApiResponse;
+import com.example.authapp.dto.response.AvailabilityResponse;
 import com.example.authapp.dto.response.LoginResponse;
+import com.example.authapp.dto.response.SessionResponse;
 import com.example.authapp.dto.response.TokenInfo;
+import com.example.authapp.dto.response.TokenValidationResult;
 import com.example.authapp.dto.response.UserProfileResponse;
 import com.example.authapp.entity.User;
+import com.example.authapp.exception.PasswordHashingUnavailableException;
 import com.example.authapp.service.AuthService;
 import com.example.authapp.service.JwtService;
+import com.example.authapp.service.LoginThrottle;
+import com.example.authapp.service.RefreshTokenCoalescer;
 import com.example.authapp.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,9 +32,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/auth")
@@ -37,6 +47,8 @@ public class AuthController {
     private final AuthService authService;
     private final JwtService jwtService;
     private final UserService userService;
+    private final RefreshTokenCoalescer refreshTokenCoalescer;
+    private final LoginThrottle loginThrottle;
 
     @Operation(
         summary = "일반 회원가입",
@@ -46,6 +58,8 @@ public class AuthController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "회원가입 성공",
             content = @Content(schema = @Schema(implementation = ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "회원가입 실패",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "요청 폭주로 일시적으로 처리 불가 (Retry-After 헤더 참고)",
             content = @Content(schema = @Schema(implementation = ApiResponse.class)))
     })
     @PostMapping("/signup")
@@ -71,6 +85,8 @@ public class AuthController {
             User user = authService.signup(request);
             UserProfileResponse userProfile = UserProfileResponse.from(user);
             return ResponseEntity.ok(ApiResponse.success("회원가입이 완료되었습니다.", userProfile));
+        } catch (PasswordHashingUnavailableException e) {
+            throw e; // 해싱 실행기 포화 - GlobalExceptionHandler에서 503 + Retry-After로 응답
         } catch (Exception e) {
             log.error("Signup failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -78,6 +94,38 @@ public class AuthController {
         }
     }
 
+    @Operation(
+        summary = "이메일/아이디 사용 가능 여부 확인",
+        description = "회원가입 전 이메일과 아이디의 사용 가능 여부 확인 (둘 중 하나 이상 필요, 최종 판정은 회원가입 시 수행)"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "확인 성공",
+            content = @Content(schema = @Schema(implementation = AvailabilityResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "확인 실패",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "요청 한도 초과 - 로그인과 같은 IP별 한도 적용 (Retry-After 헤더 참고)",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<AvailabilityResponse>> checkAvailability(
+            @Parameter(description = "확인할 이메일", example = "user@example.com") @RequestParam(required = false) String email,
+            @Parameter(description = "확인할 아이디", example = "user123") @RequestParam(required = false) String username,
+            @Parameter(description = "HTTP 요청", hidden = true) HttpServletRequest httpRequest) {
+        // 가입 여부 대량 조회 방지 - 한도 초과 시 GlobalExceptionHandler에서 429 + Retry-After로 응답
+        loginThrottle.checkIp(httpRequest.getRemoteAddr());
+        try {
+            if (!StringUtils.hasText(email) && !StringUtils.hasText(username)) {
+                throw new RuntimeException("이메일 또는 아이디를 입력해주세요.");
+            }
+            AvailabilityResponse availability = authService.checkAvailability(email, username);
+            return ResponseEntity.ok(ApiResponse.success(availability));
+        } catch (Exception e) {
+            log.error("Availability check failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.failure("사용 가능 여부 확인에 실패했습니다.", e.getMessage()));
+        }
+    }
+
     @Operation(
         summary = "일반 로그인",
         description = "이메일과 비밀번호를 사용한 로그인"
@@ -86,6 +134,10 @@ public class AuthController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "로그인 성공",
             content = @Content(schema = @Schema(implementation = LoginResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "로그인 실패",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "로그인 시도 한도 초과 (Retry-After 헤더 참고)",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "요청 폭주로 일시적으로 처리 불가 (Retry-After 헤더 참고)",
             content = @Content(schema = @Schema(implementation = ApiResponse.class)))
     })
     @PostMapping("/login")
@@ -98,17 +150,24 @@ public class AuthController {
                     name = "로그인 예시",
                     value = "{\n" +
                            "  \"loginId\": \"user123 또는 user@example.com\",\n" +
-                           "  \"password\": \"password123\"\n" +
+                           "  \"password\": \"password123\",\n" +
+                           "  \"deviceId\": \"web-3f1c2a9e\"\n" +
                            "}"
                 )
             )
         )
-        @Valid @RequestBody LoginRequest request) {
+        @Valid @RequestBody LoginRequest request,
+        @Parameter(description = "HTTP 요청", hidden = true) HttpServletRequest httpRequest) {
+        // 시도 한도 초과 시 사용자 조회/비밀번호 검증 없이 429
+        loginThrottle.check(httpRequest.getRemoteAddr(), request.getLoginId());
         try {
-            LoginResponse loginResponse = authService.regularLogin(request);
+            LoginResponse loginResponse = authService.regularLogin(request, httpRequest.getHeader("User-Agent"));
             return ResponseEntity.ok(ApiResponse.success("로그인이 완료되었습니다.", loginResponse));
+        } catch (PasswordHashingUnavailableException e) {
+            throw e; // 해싱 실행기 포화 - GlobalExceptionHandler에서 503 + Retry-After로 응답
         } catch (Exception e) {
             log.error("Login failed: {}", e.getMessage());
+            loginThrottle.recordFailure(request.getLoginId());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.failure("로그인에 실패했습니다.", e.getMessage()));
         }
@@ -116,7 +175,7 @@ public class AuthController {
 
     @Operation(
         summary = "토큰 재발급",
-        description = "리프레시 토큰을 사용하여 새로운 액세스 토큰 발급"
+        description = "리프레시 토큰을 사용하여 새로운 액세스 토큰 발급 (같은 토큰의 동시/직후 요청은 하나로 병합 - 첫 요청만 새 리프레시 토큰을 받고 나머지는 액세스 토큰만 받음)"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "토큰 재발급 성공",
@@ -140,7 +199,7 @@ public class AuthController {
         )
         @Valid @RequestBody TokenRequest tokenRequest) {
         try {
-            TokenInfo tokenInfo = authService.refreshToken(tokenRequest.getRefreshToken());
+            TokenInfo tokenInfo = refreshTokenCoalescer.refresh(tokenRequest.getRefreshToken());
             return ResponseEntity.ok(ApiResponse.success("토큰이 재발급되었습니다.", tokenInfo));
         } catch (Exception e) {
             log.error("Token refresh failed: {}", e.getMessage());
@@ -163,9 +222,11 @@ public class AuthController {
             description = "리프레시 토큰",
             content = @Content(schema = @Schema(implementation = TokenRequest.class))
         )
-        @Valid @RequestBody TokenRequest tokenRequest) {
+        @Valid @RequestBody TokenRequest tokenRequest,
+        @Parameter(description = "HTTP 요청", hidden = true) HttpServletRequest request) {
         try {
-            authService.logout(tokenRequest.getRefreshToken());
+            String accessToken = jwtService.extractTokenFromHeader(request.getHeader("Authorization"));
+            authService.logout(tokenRequest.getRefreshToken(), accessToken);
             return ResponseEntity.ok(ApiResponse.success("로그아웃되었습니다."));
         } catch (Exception e) {
             log.error("Logout failed: {}", e.getMessage());
@@ -174,6 +235,76 @@ public class AuthController {
         }
     }
 
+    @Operation(
+        summary = "모든 기기에서 로그아웃",
+        description = "사용자에게 발급된 모든 Access Token과 리프레시 토큰을 무효화",
+        security = @SecurityRequirement(name = "JWT")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "로그아웃 성공"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "로그아웃 실패")
+    })
+    @PostMapping("/logout-all")
+    public ResponseEntity<ApiResponse<Void>> logoutAll(
+            @Parameter(hidden = true) @CurrentUser User user) {
+        try {
+            authService.logout(user.getId());
+            return ResponseEntity.ok(ApiResponse.success("모든 기기에서 로그아웃되었습니다."));
+        } catch (Exception e) {
+            log.error("Logout from all devices failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.failure("로그아웃에 실패했습니다.", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "로그인 세션 목록 조회",
+        description = "현재 사용자의 기기별 로그인 세션 목록을 최근 사용 순으로 조회",
+        security = @SecurityRequirement(name = "JWT")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "세션 목록 조회 성공"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "조회 실패")
+    })
+    @GetMapping("/sessions")
+    public ResponseEntity<ApiResponse<List<SessionResponse>>> getSessions(
+            @Parameter(hidden = true) @CurrentUser User user) {
+        try {
+            List<SessionResponse> sessions = authService.getSessions(user);
+            return ResponseEntity.ok(ApiResponse.success(sessions));
+        } catch (Exception e) {
+            log.error("Get sessions failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.failure("세션 목록 조회에 실패했습니다.", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "로그인 세션 무효화",
+        description = "지정한 기기의 로그인 세션(리프레시 토큰)을 무효화",
+        security = @SecurityRequirement(name = "JWT")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "세션 무효화 성공"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "세션 무효화 실패")
+    })
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> revokeSession(
+            @Parameter(description = "세션 ID", example = "1") @PathVariable Long sessionId,
+            @Parameter(hidden = true) @CurrentUser User user) {
+        try {
+            authService.revokeSession(user, sessionId);
+            return ResponseEntity.ok(ApiResponse.success("세션이 무효화되었습니다."));
+        } catch (Exception e) {
+            log.error("Revoke session failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.failure("세션 무효화에 실패했습니다.", e.getMessage()));
+        }
+    }
+
     @Operation(
         summary = "현재 사용자 정보 조회",
         description = "JWT 토큰으로 인증된 사용자의 정보 조회",
@@ -187,7 +318,7 @@ public class AuthController {
     })
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<UserProfileResponse>> getCurrentUser(
-            @Parameter(hidden = true) @AuthenticationPrincipal User user) {
+            @Parameter(hidden = true) @CurrentUser User user) {
         try {
             UserProfileResponse userProfile = UserProfileResponse.from(user);
             return ResponseEntity.ok(ApiResponse.success(userProfile));
@@ -224,6 +355,40 @@ public class AuthController {
         }
     }
 
+    @Operation(
+        summary = "토큰 일괄 검증",
+        description = "여러 JWT 토큰을 한 번에 검증하고 토큰별 결과(클레임, 남은 유효 시간)를 요청 순서대로 반환"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "토큰 검증 완료"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "요청 형식 오류 또는 최대 개수 초과",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    @PostMapping("/validate/batch")
+    public ResponseEntity<ApiResponse<List<TokenValidationResult>>> validateTokens(
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "검증할 토큰 목록",
+            content = @Content(
+                schema = @Schema(implementation = BatchTokenValidationRequest.class),
+                examples = @ExampleObject(
+                    name = "일괄 검증 예시",
+                    value = "{\n" +
+                           "  \"tokens\": [\"eyJhbGciOiJIUzI1NiJ9...\", \"eyJhbGciOiJIUzI1NiJ9...\"]\n" +
+                           "}"
+                )
+            )
+        )
+        @Valid @RequestBody BatchTokenValidationRequest request) {
+        try {
+            List<TokenValidationResult> results = authService.inspectTokens(request.getTokens());
+            return ResponseEntity.ok(ApiResponse.success("토큰 검증 완료", results));
+        } catch (Exception e) {
+            log.error("Batch token validation failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.failure("토큰 일괄 검증에 실패했습니다.", e.getMessage()));
+        }
+    }
+
     @Operation(
         summary = "OAuth 로그인 링크 제공",
         description = "지정된 제공자의 OAuth 로그인 URL 반환"
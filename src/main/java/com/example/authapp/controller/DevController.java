@@ -3,6 +3,7 @@ package com.example.authapp.controller;
 import com.example.authapp.dto.response.ApiResponse;
 import com.example.authapp.entity.Role;
 import com.example.authapp.entity.User;
+import com.example.authapp.service.TokenEpochRegistry;
 import com.example.authapp.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,7 @@ public class DevController {
 
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenEpochRegistry tokenEpochRegistry;
 
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<List<String>>> getAllUsers() {
@@ -51,6 +53,7 @@ public class DevController {
                 // 기존 사용자를 관리자로 승격
                 User user = userService.findByEmail(email).orElseThrow();
                 user.setRole(Role.ADMIN);
+                tokenEpochRegistry.revokeAll(user); // 이전 권한으로 발급된 토큰 무효화
                 userService.save(user);
                 
                 log.info("사용자를 관리자로 승격: {}", email);
@@ -84,6 +87,7 @@ public class DevController {
                     .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userId));
             
             user.setRole(Role.ADMIN);
+            tokenEpochRegistry.revokeAll(user); // 이전 권한으로 발급된 토큰 무효화
             userService.save(user);
             
             String message = String.format("사용자 %s (ID: %d)가 관리자로 승격되었습니다", user.getEmail(), userId);
@@ -0,0 +1,63 @@
+package com.example.authapp.controller;
+
+import com.example.authapp.dto.response.IntrospectionResponse;
+import com.example.authapp.service.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * OAuth 2.0 토큰 인트로스펙션 엔드포인트 (RFC 7662)
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Token Introspection", description = "토큰 인트로스펙션 API (RFC 7662)")
+public class IntrospectionController {
+
+    private final AuthService authService;
+
+    // 리소스 서버의 응답 재사용 시간 상한 - 무효화(denylist, epoch)가 반영되기까지의 최대 지연
+    @Value("${app.introspection.max-age:5s}")
+    private Duration maxAge;
+
+    @Operation(
+        summary = "토큰 인트로스펙션",
+        description = "토큰의 활성 여부와 클레임을 반환합니다. 등록된 리소스 서버의 HTTP Basic 클라이언트 인증이 필요합니다. " +
+                "Cache-Control max-age는 토큰의 남은 유효 시간과 app.introspection.max-age 중 짧은 값입니다."
+    )
+    @PostMapping(value = "/oauth2/introspect",
+            consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspect(
+            @Parameter(description = "검사할 토큰") @RequestParam("token") String token,
+            @Parameter(description = "토큰 유형 힌트 (access_token)")
+            @RequestParam(value = "token_type_hint", required = false) String tokenTypeHint) {
+        IntrospectionResponse response = authService.introspect(token);
+
+        if (!response.isActive()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(response);
+        }
+
+        // 무효화된 토큰이 오래 재사용되지 않도록 짧게 제한 (토큰 만료 시점을 넘지 않음)
+        long remaining = Math.max(response.getExp() - Instant.now().getEpochSecond(), 0L);
+        long seconds = Math.min(remaining, maxAge.toSeconds());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(seconds)).cachePrivate())
+                .body(response);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.authapp.controller;
+
+import com.example.authapp.service.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * 리소스 서버가 토큰을 로컬에서 검증할 수 있도록 서명 공개키(JWKS)를 제공
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "토큰 서명 공개키 API")
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @Value("${jwt.signing.jwks-max-age:900}")
+    private long jwksMaxAge;
+
+    @Operation(
+        summary = "JWKS 조회",
+        description = "Access Token 서명 검증용 공개키 목록 (RFC 7517). 알 수 없는 kid를 만나면 다시 조회해야 합니다."
+    )
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getJwks(WebRequest webRequest) {
+        String etag = jwtKeyRing.getJwksEtag();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(jwksMaxAge))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(jwksMaxAge))
+                .staleIfError(Duration.ofDays(1));
+
+        // 키가 바뀌지 않았다면 304 응답
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(cacheControl).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .body(jwtKeyRing.getJwks());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.authapp.controller;
 
+import com.example.authapp.config.CurrentUser;
 import com.example.authapp.dto.request.UpdateProfileRequest;
 import com.example.authapp.dto.response.ApiResponse;
 import com.example.authapp.dto.response.UserProfileResponse;
@@ -17,7 +18,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -44,7 +44,7 @@ public class UserController {
     })
     @GetMapping("/profile")
     public ResponseEntity<ApiResponse<UserProfileResponse>> getProfile(
-            @Parameter(hidden = true) @AuthenticationPrincipal User user) {
+            @Parameter(hidden = true) @CurrentUser User user) {
         try {
             log.info("=== 프로필 조회 ===");
             log.info("사용자 ID: {}", user.getId());
@@ -103,7 +103,7 @@ public class UserController {
     })
     @PutMapping(value = "/profile", consumes = {"multipart/form-data"})
     public ResponseEntity<ApiResponse<UserProfileResponse>> updateProfile(
-            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(hidden = true) @CurrentUser User user,
             @Parameter(description = "사용자 이름") @RequestParam(required = false) String name,
             @Parameter(description = "닉네임") @RequestParam(required = false) String nickname,
             @Parameter(description = "성별") @RequestParam(required = false) String gender,
@@ -176,7 +176,7 @@ public class UserController {
     })
     @PutMapping("/profile/basic")
     public ResponseEntity<ApiResponse<UserProfileResponse>> updateBasicProfile(
-            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(hidden = true) @CurrentUser User user,
             @Parameter(description = "사용자 이름", example = "홍길동")
             @RequestParam(required = false) String name,
             @Parameter(description = "프로필 이미지 URL", example = "https://example.com/profile.jpg")
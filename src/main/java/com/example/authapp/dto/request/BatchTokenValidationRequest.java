@@ -0,0 +1,20 @@
+package com.example.authapp.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "일괄 토큰 검증 요청")
+public class BatchTokenValidationRequest {
+
+    @Schema(description = "검증할 Access Token 목록", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "검증할 토큰을 입력해주세요")
+    private List<String> tokens;
+}
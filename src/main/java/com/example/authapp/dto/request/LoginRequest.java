@@ -2,6 +2,7 @@ package com.example.authapp.dto.request;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -17,4 +18,8 @@ public class LoginRequest {
     @Schema(description = "사용자 비밀번호", example = "password123", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotBlank(message = "비밀번호를 입력해주세요")
     private String password;
+
+    @Schema(description = "기기 식별자 (같은 기기의 재로그인은 기존 세션을 교체, 생략 시 새 세션 생성)", example = "web-3f1c2a9e")
+    @Size(max = 100, message = "기기 식별자는 100자 이하여야 합니다")
+    private String deviceId;
 }
\ No newline at end of file
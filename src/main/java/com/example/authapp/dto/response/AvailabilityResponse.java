@@ -0,0 +1,11 @@
+package com.example.authapp.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class AvailabilityResponse {
+    private Boolean emailAvailable; // 이메일을 확인하지 않은 경우 null
+    private Boolean usernameAvailable; // 아이디를 확인하지 않은 경우 null
+}
@@ -0,0 +1,64 @@
+package com.example.authapp.dto.response;
+
+import com.example.authapp.service.VerifiedToken;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * RFC 7662 토큰 인트로스펙션 응답
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "토큰 인트로스펙션 응답 (RFC 7662)")
+public class IntrospectionResponse {
+
+    @Schema(description = "토큰 활성 여부", example = "true")
+    private boolean active;
+
+    @Schema(description = "토큰 주체 (사용자 이메일)", example = "user@example.com")
+    private String sub;
+
+    @Schema(description = "만료 시각 (epoch seconds)", example = "1735689600")
+    private Long exp;
+
+    @Schema(description = "토큰 식별자", example = "3f1c2a9e-6b1d-4c47-9f0e-2d4b8a7c5e10")
+    private String jti;
+
+    @JsonProperty("token_type")
+    @Schema(description = "토큰 유형", example = "access_token")
+    private String tokenType;
+
+    @JsonProperty("user_id")
+    @Schema(description = "사용자 ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "권한", example = "USER")
+    private String role;
+
+    @Schema(description = "로그인 제공자", example = "REGULAR")
+    private String provider;
+
+    public static IntrospectionResponse active(VerifiedToken token) {
+        return IntrospectionResponse.builder()
+                .active(true)
+                .sub(token.email())
+                .exp(token.expiration().getEpochSecond())
+                .jti(token.jti())
+                .tokenType("access_token")
+                .userId(token.userId())
+                .role(token.role())
+                .provider(token.provider())
+                .build();
+    }
+
+    // 비활성 토큰은 active 외의 정보를 노출하지 않음
+    public static IntrospectionResponse inactive() {
+        return IntrospectionResponse.builder()
+                .active(false)
+                .build();
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.authapp.dto.response;
 
-import com.example.authapp.entity.User;
+import com.example.authapp.entity.TokenSubject;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -21,7 +21,7 @@ public class LoginResponse {
         private String provider;
         private String role;
 
-        public static UserInfo from(User user) {
+        public static UserInfo from(TokenSubject user) {
             return UserInfo.builder()
                     .id(user.getId())
                     .email(user.getEmail())
@@ -33,7 +33,7 @@ public class LoginResponse {
         }
     }
 
-    public static LoginResponse of(String accessToken, String refreshToken, User user) {
+    public static LoginResponse of(String accessToken, String refreshToken, TokenSubject user) {
         return LoginResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
@@ -0,0 +1,33 @@
+package com.example.authapp.dto.response;
+
+import com.example.authapp.service.RefreshSession;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class SessionResponse {
+    private Long id;
+    private String deviceId;
+    private String userAgent;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt; // 로그인 시간
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastUsedAt; // 마지막 사용 시간
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime expiresAt;
+
+    public static SessionResponse from(RefreshSession session) {
+        return SessionResponse.builder()
+                .id(session.id())
+                .deviceId(session.deviceId())
+                .userAgent(session.userAgent())
+                .createdAt(session.createdAt())
+                .lastUsedAt(session.lastUsedAt())
+                .expiresAt(session.expiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.authapp.dto.response;
+
+import com.example.authapp.service.VerifiedToken;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "토큰 검증 결과")
+public class TokenValidationResult {
+
+    @Schema(description = "유효 여부", example = "true")
+    private boolean valid;
+
+    @Schema(description = "사용자 ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "사용자 이메일", example = "user@example.com")
+    private String email;
+
+    @Schema(description = "권한", example = "USER")
+    private String role;
+
+    @Schema(description = "로그인 제공자", example = "REGULAR")
+    private String provider;
+
+    @Schema(description = "만료 시간")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "남은 유효 시간 (초)", example = "3600")
+    private Long expiresIn;
+
+    @Schema(description = "오류 코드", example = "EXPIRED_TOKEN")
+    private String error;
+
+    public static TokenValidationResult valid(VerifiedToken token) {
+        return TokenValidationResult.builder()
+                .valid(true)
+                .userId(token.userId())
+                .email(token.email())
+                .role(token.role())
+                .provider(token.provider())
+                .expiresAt(LocalDateTime.ofInstant(token.expiration(), ZoneId.systemDefault()))
+                .expiresIn(Math.max(Duration.between(Instant.now(), token.expiration()).toSeconds(), 0L))
+                .build();
+    }
+
+    public static TokenValidationResult invalid(String error) {
+        return TokenValidationResult.builder()
+                .valid(false)
+                .error(error)
+                .build();
+    }
+}
@@ -9,8 +9,18 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * 로그인 세션 - 기기별 Refresh Token
+ * - (user_id, device_id) unique: 사용자별 세션 목록 조회와 같은 기기 재로그인 시 upsert에 사용
+ * - 토큰 조회는 opaque 토큰의 id(기본키)로 수행
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_user_device", columnNames = {"user_id", "device_id"}),
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at") // 만료 토큰 정리용
+        })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class RefreshToken {
@@ -19,13 +29,33 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 500)
-    private String token;
+    // 토큰 비밀값의 SHA-256 해시 (토큰 원문은 저장하지 않음)
+    @Column(name = "token_hash", columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    // 직전 토큰의 해시 - 교체된 토큰의 재사용 감지용
+    @Column(name = "previous_hash", columnDefinition = "BINARY(32)")
+    private byte[] previousHash;
+
+    // 기존 JWT Refresh Token (사용 시 opaque 토큰으로 전환되며 null이 됨)
+    @Column(name = "token", unique = true, length = 500)
+    private String legacyToken;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // 기기 식별자 - 클라이언트가 보내지 않으면 로그인마다 새로 생성 (새 세션)
+    @Column(name = "device_id", nullable = false, length = 100)
+    private String deviceId;
+
+    @Column(name = "user_agent", length = 500)
+    private String userAgent;
+
+    // 토큰 계열 ID - 로그인 시 생성되어 교체(rotate)된 토큰들이 공유 (재사용 감지 시 계열 전체 무효화)
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
     @Column(name = "expires_at", nullable = false)
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime expiresAt;
@@ -34,12 +64,24 @@ public class RefreshToken {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
 
+    @Column(name = "rotated_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime rotatedAt; // 마지막 교체 시각
+
+    @Column(name = "last_used_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastUsedAt; // 마지막 로그인 또는 토큰 재발급 시각
+
     @Builder
-    public RefreshToken(String token, User user, LocalDateTime expiresAt) {
-        this.token = token;
+    public RefreshToken(byte[] tokenHash, User user, String deviceId, String userAgent, String familyId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
         this.user = user;
+        this.deviceId = deviceId;
+        this.userAgent = userAgent;
+        this.familyId = familyId;
         this.expiresAt = expiresAt;
         this.createdAt = LocalDateTime.now();
+        this.lastUsedAt = this.createdAt;
     }
 
     // 토큰 만료 여부 확인
@@ -47,9 +89,4 @@ public class RefreshToken {
         return LocalDateTime.now().isAfter(this.expiresAt);
     }
 
-    // 토큰 업데이트
-    public void updateToken(String newToken, LocalDateTime newExpiresAt) {
-        this.token = newToken;
-        this.expiresAt = newExpiresAt;
-    }
 }
\ No newline at end of file
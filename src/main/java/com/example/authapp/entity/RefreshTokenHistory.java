@@ -0,0 +1,46 @@
+package com.example.authapp.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 교체된 Refresh Token 기록 - 직전 토큰보다 오래된 토큰의 재사용 감지용
+ * - 토큰 교체 시 교체된 토큰의 해시를 계열 ID와 함께 기록 (같은 기기 재로그인으로 계열이 바뀌면 이전 계열 기록은 비교하지 않음)
+ * - 세션이 삭제되면 함께 삭제 (ON DELETE CASCADE), Refresh Token 수명이 지난 기록은 정리 작업에서 삭제
+ */
+@Entity
+@Table(name = "refresh_token_history", indexes = {
+        @Index(name = "idx_refresh_token_history_session_hash", columnList = "session_id, token_hash"),
+        @Index(name = "idx_refresh_token_history_rotated_at", columnList = "rotated_at") // 오래된 기록 정리용
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RefreshTokenHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private RefreshToken session;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    // 교체된 토큰 비밀값의 SHA-256 해시
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    @Column(name = "rotated_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime rotatedAt;
+}
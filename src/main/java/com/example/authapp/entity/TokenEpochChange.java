@@ -0,0 +1,46 @@
+package com.example.authapp.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 토큰 epoch 변경 기록 (인스턴스 간 동기화용)
+ * - seq는 DB가 부여하는 증가 번호로, 다른 인스턴스는 마지막으로 읽은 seq 이후의 변경만 조회
+ * - users 행의 다른 변경(updated_at)과 무관하게 epoch 증가만 기록
+ */
+@Entity
+@Table(name = "token_epoch_changes", indexes = {
+        @Index(name = "idx_token_epoch_changes_changed_at", columnList = "changed_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TokenEpochChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_epoch", nullable = false)
+    private int tokenEpoch;
+
+    @Column(name = "changed_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime changedAt;
+
+    @Builder
+    public TokenEpochChange(Long userId, int tokenEpoch) {
+        this.userId = userId;
+        this.tokenEpoch = tokenEpoch;
+        this.changedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.authapp.entity;
+
+/**
+ * 토큰 발급과 로그인 응답에 필요한 사용자 정보
+ * - User 엔티티와 로그인 시 조회하는 경량 프로젝션(UserRepository.LoginSubjectView)이 함께 구현
+ */
+public interface TokenSubject {
+
+    Long getId();
+
+    String getEmail();
+
+    String getName();
+
+    String getProfileImage();
+
+    Provider getProvider();
+
+    Role getRole();
+
+    int getTokenEpoch();
+}
@@ -19,7 +19,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
 @DynamicUpdate // 변경된 필드만 업데이트
-public class User {
+public class User implements TokenSubject {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -77,6 +77,9 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    @Column(name = "token_epoch", nullable = false)
+    private int tokenEpoch = 0; // 이 값보다 작은 epoch로 발급된 Access Token은 모두 무효
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -176,6 +179,11 @@ public class User {
         this.nickname = nickname;
     }
 
+    // 발급된 모든 Access Token 무효화 (권한 변경, 계정 비활성화, 전체 로그아웃 시)
+    public void increaseTokenEpoch() {
+        this.tokenEpoch++;
+    }
+
     // 온라인 상태 관리 메서드들
     public void updateLoginStatus() {
         this.lastLoginAt = LocalDateTime.now();
@@ -249,6 +257,18 @@ public class User {
                 .build();
     }
 
+    // 같은 값을 가진 별도 인스턴스 (준영속) - 캐시에 보관한 값을 요청마다 독립된 객체로 전달할 때 사용
+    public User detachedCopy() {
+        User copy = new User(email, username, name, nickname, profileImage, password, address, active,
+                gender, birthYear, nationality, provider, providerId, role,
+                lastLoginAt, online, analysisCount, lastAnalysisAt);
+        copy.id = id;
+        copy.tokenEpoch = tokenEpoch;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
     // 이메일에서 사용자명 생성 유틸리티 메서드
     private static String generateUsernameFromEmail(String email) {
         if (email == null || !email.contains("@")) {
@@ -5,6 +5,7 @@ import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SecurityException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -30,6 +31,16 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.failure("토큰이 만료되었습니다.", "EXPIRED_TOKEN"));
     }
 
+    /**
+     * 무효화된 JWT 토큰 예외 (로그아웃된 토큰)
+     */
+    @ExceptionHandler(RevokedTokenException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRevokedTokenException(RevokedTokenException e) {
+        log.warn("Revoked JWT token: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.failure("무효화된 토큰입니다.", "REVOKED_TOKEN"));
+    }
+
     /**
      * JWT 토큰 형식 오류 예외
      */
@@ -50,6 +61,26 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.failure("인증에 실패했습니다.", "AUTHENTICATION_FAILED"));
     }
 
+    /**
+     * 비밀번호 해싱 실행기 포화 예외 (로그인/회원가입 폭주)
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.failure(e.getMessage(), "SERVICE_BUSY"));
+    }
+
+    /**
+     * 로그인 시도 한도 초과 예외
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLoginThrottledException(LoginThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.failure(e.getMessage(), "TOO_MANY_LOGIN_ATTEMPTS"));
+    }
+
     /**
      * 권한 예외
      */
@@ -0,0 +1,19 @@
+package com.example.authapp.exception;
+
+/**
+ * 로그인 시도 한도를 초과했을 때 발생하는 예외 (429 + Retry-After로 응답)
+ * - 대량 로그인 시도마다 생성되므로 스택 트레이스를 만들지 않음
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
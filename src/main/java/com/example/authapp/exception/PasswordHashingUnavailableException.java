@@ -0,0 +1,19 @@
+package com.example.authapp.exception;
+
+/**
+ * 비밀번호 해싱 실행기가 포화 상태일 때 발생하는 예외
+ * - 대기열이 가득 찼거나 최대 대기 시간을 넘은 경우 (503 + Retry-After로 응답)
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
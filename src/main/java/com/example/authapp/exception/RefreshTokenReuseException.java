@@ -0,0 +1,12 @@
+package com.example.authapp.exception;
+
+/**
+ * 이미 교체(rotate)된 Refresh Token이 다시 사용되었을 때 발생하는 예외
+ * - 토큰 탈취 가능성이 있으므로 해당 토큰 계열(family)은 모두 무효화됨
+ */
+public class RefreshTokenReuseException extends RuntimeException {
+
+    public RefreshTokenReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.authapp.exception;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * 로그아웃 등으로 만료 전에 무효화된 토큰이 사용되었을 때 발생하는 예외
+ */
+public class RevokedTokenException extends JwtException {
+
+    public RevokedTokenException(String message) {
+        super(message);
+    }
+}
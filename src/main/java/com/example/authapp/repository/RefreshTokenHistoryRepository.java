@@ -0,0 +1,36 @@
+package com.example.authapp.repository;
+
+import com.example.authapp.entity.RefreshTokenHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshTokenHistoryRepository extends JpaRepository<RefreshTokenHistory, Long> {
+
+    // 교체된 토큰 기록 - 세션의 현재 계열 ID와 함께 저장 (단일 INSERT ... SELECT 문)
+    @Modifying
+    @Query(value = "INSERT INTO refresh_token_history (session_id, family_id, token_hash, rotated_at) " +
+                   "SELECT rt.id, rt.family_id, :tokenHash, :now FROM refresh_tokens rt WHERE rt.id = :sessionId",
+           nativeQuery = true)
+    int recordRotation(@Param("sessionId") Long sessionId,
+                       @Param("tokenHash") byte[] tokenHash,
+                       @Param("now") LocalDateTime now);
+
+    // 세션의 현재 계열에서 교체된 토큰인지 확인
+    @Query("SELECT COUNT(h) > 0 FROM RefreshTokenHistory h " +
+           "WHERE h.session.id = :sessionId AND h.familyId = :familyId AND h.tokenHash = :tokenHash")
+    boolean existsRotation(@Param("sessionId") Long sessionId,
+                           @Param("familyId") String familyId,
+                           @Param("tokenHash") byte[] tokenHash);
+
+    // 오래된 기록을 최대 limit개 삭제 (정리 작업용 - rotated_at 인덱스 범위 스캔)
+    @Modifying
+    @Query(value = "DELETE FROM refresh_token_history WHERE rotated_at < :before ORDER BY rotated_at LIMIT :limit",
+           nativeQuery = true)
+    int deleteRotatedBeforeBatch(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -1,7 +1,6 @@
 package com.example.authapp.repository;
 
 import com.example.authapp.entity.RefreshToken;
-import com.example.authapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,41 +8,112 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    // 토큰으로 RefreshToken 조회
-    Optional<RefreshToken> findByToken(String token);
+    // 기본키로 RefreshToken과 사용자를 함께 조회 (opaque 토큰)
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.id = :id")
+    Optional<RefreshToken> findWithUserById(@Param("id") Long id);
 
-    // 사용자로 RefreshToken 조회
-    Optional<RefreshToken> findByUser(User user);
+    // 기존 JWT Refresh Token으로 RefreshToken과 사용자를 함께 조회
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.legacyToken = :token")
+    Optional<RefreshToken> findWithUserByLegacyToken(@Param("token") String token);
 
-    // 사용자 ID로 RefreshToken 조회
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId")
-    Optional<RefreshToken> findByUserId(@Param("userId") Long userId);
+    // 토큰 계열로 RefreshToken과 사용자를 함께 조회 (재사용 감지용)
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.familyId = :familyId")
+    Optional<RefreshToken> findWithUserByFamilyId(@Param("familyId") String familyId);
 
-    // 특정 사용자의 RefreshToken 삭제
-    void deleteByUser(User user);
+    // 사용자의 세션 목록 조회 (최근 사용 순)
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId ORDER BY rt.lastUsedAt DESC")
+    List<RefreshToken> findAllByUserId(@Param("userId") Long userId);
 
-    // 사용자 ID로 RefreshToken 삭제
+    // 사용자의 유효한 세션 목록 조회 (최근 사용 순)
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.expiresAt > :now " +
+           "ORDER BY rt.lastUsedAt DESC")
+    List<RefreshToken> findActiveByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // 사용자의 세션 개수
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    // 세션 삭제 (단일 DELETE 문)
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id = :id")
+    int deleteSessionById(@Param("id") Long id);
+
+    // 사용자의 특정 세션 삭제 (다른 사용자의 세션은 삭제되지 않음)
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id = :id AND rt.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // 최근 사용한 세션 keep개만 남기고 삭제 (사용자별 세션 수 제한)
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE user_id = :userId AND id NOT IN (" +
+                   "SELECT id FROM (SELECT id FROM refresh_tokens WHERE user_id = :userId " +
+                   "ORDER BY last_used_at DESC, id DESC LIMIT :keep) recent)",
+           nativeQuery = true)
+    int deleteOldestByUserId(@Param("userId") Long userId, @Param("keep") int keep);
+
+    // 사용자 ID로 모든 세션 삭제 (단일 DELETE 문)
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
 
-    // 만료된 토큰들 삭제 (배치 작업용)
+    // 로그인 시 기기 세션 발급 - 단일 upsert 문 ((user_id, device_id) unique 제약 기준)
+    // 새 기기는 행 추가만 발생하고, 같은 기기의 재로그인은 기존 행을 갱신 (기존 행의 id는 유지)
+    @Modifying
+    @Query(value = "INSERT INTO refresh_tokens (user_id, device_id, user_agent, token_hash, family_id, " +
+                   "expires_at, created_at, last_used_at) " +
+                   "VALUES (:userId, :deviceId, :userAgent, :tokenHash, :familyId, :expiresAt, :createdAt, :createdAt) " +
+                   "ON DUPLICATE KEY UPDATE token_hash = VALUES(token_hash), previous_hash = NULL, token = NULL, " +
+                   "user_agent = VALUES(user_agent), family_id = VALUES(family_id), expires_at = VALUES(expires_at), " +
+                   "created_at = VALUES(created_at), last_used_at = VALUES(last_used_at), rotated_at = NULL",
+           nativeQuery = true)
+    int upsertForDevice(@Param("userId") Long userId,
+                        @Param("deviceId") String deviceId,
+                        @Param("userAgent") String userAgent,
+                        @Param("tokenHash") byte[] tokenHash,
+                        @Param("familyId") String familyId,
+                        @Param("expiresAt") LocalDateTime expiresAt,
+                        @Param("createdAt") LocalDateTime createdAt);
+
+    // 기기 세션의 id 조회 (upsert 후 토큰 발급용)
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.deviceId = :deviceId")
+    Optional<Long> findIdByUserIdAndDeviceId(@Param("userId") Long userId, @Param("deviceId") String deviceId);
+
+    // RefreshToken 교체 - 현재 해시가 일치하고 만료되지 않은 경우에만 갱신 (조건부 단일 UPDATE)
+    // 0이 반환되면 이미 다른 요청이 교체한 토큰
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query("UPDATE RefreshToken rt SET rt.tokenHash = :newHash, rt.previousHash = :currentHash, " +
+           "rt.expiresAt = :expiresAt, rt.rotatedAt = :now, rt.lastUsedAt = :now " +
+           "WHERE rt.id = :id AND rt.tokenHash = :currentHash AND rt.expiresAt > :now")
+    int rotate(@Param("id") Long id,
+               @Param("currentHash") byte[] currentHash,
+               @Param("newHash") byte[] newHash,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("now") LocalDateTime now);
 
-    // 만료된 토큰 개수 조회
-    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    long countExpiredTokens(@Param("now") LocalDateTime now);
+    // 기존 JWT Refresh Token을 opaque 토큰으로 전환 (조건부 단일 UPDATE)
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.tokenHash = :newHash, rt.legacyToken = NULL, " +
+           "rt.expiresAt = :expiresAt, rt.rotatedAt = :now, rt.lastUsedAt = :now " +
+           "WHERE rt.id = :id AND rt.legacyToken = :legacyToken AND rt.expiresAt > :now")
+    int migrateLegacyToken(@Param("id") Long id,
+                           @Param("legacyToken") String legacyToken,
+                           @Param("newHash") byte[] newHash,
+                           @Param("expiresAt") LocalDateTime expiresAt,
+                           @Param("now") LocalDateTime now);
 
-    // 사용자가 RefreshToken을 가지고 있는지 확인
-    boolean existsByUser(User user);
+    // 만료된 토큰을 최대 limit개 삭제 (정리 작업용 - expires_at 인덱스 범위 스캔)
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE expires_at < :now ORDER BY expires_at LIMIT :limit",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 
-    // 토큰 존재 여부 확인
-    boolean existsByToken(String token);
+    // 사용자에게 남은 세션이 있는지 확인
+    @Query("SELECT COUNT(rt) > 0 FROM RefreshToken rt WHERE rt.user.id = :userId")
+    boolean existsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.authapp.repository;
+
+import com.example.authapp.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // 아직 만료되지 않은 무효화 토큰 조회 (시작 시 denylist 복원용)
+    List<RevokedToken> findAllByExpiresAtAfter(LocalDateTime now);
+
+    // 특정 순번 이후 무효화된 토큰 조회 (다른 인스턴스의 무효화 반영용)
+    List<RevokedToken> findAllBySeqGreaterThanOrderBySeq(long seq);
+
+    // 마지막 무효화 순번 (없으면 0)
+    @Query("SELECT COALESCE(MAX(rt.seq), 0) FROM RevokedToken rt")
+    long findMaxSeq();
+
+    // 만료된 무효화 토큰 삭제
+    @Modifying
+    @Query("DELETE FROM RevokedToken rt WHERE rt.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,27 @@
+package com.example.authapp.repository;
+
+import com.example.authapp.entity.TokenEpochChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenEpochChangeRepository extends JpaRepository<TokenEpochChange, Long> {
+
+    // 특정 순번 이후의 epoch 변경 조회 (다른 인스턴스의 변경 반영용)
+    List<TokenEpochChange> findAllBySeqGreaterThanOrderBySeq(long seq);
+
+    // 마지막 변경 순번 (없으면 0)
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM TokenEpochChange c")
+    long findMaxSeq();
+
+    // 오래된 변경 기록 삭제 (epoch 자체는 users.token_epoch에 남아 있음)
+    @Modifying
+    @Query("DELETE FROM TokenEpochChange c WHERE c.changedAt < :before")
+    int deleteChangedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,14 +1,18 @@
 package com.example.authapp.repository;
 
 import com.example.authapp.entity.Provider;
+import com.example.authapp.entity.Role;
+import com.example.authapp.entity.TokenSubject;
 import com.example.authapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,7 +32,7 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     // 특정 제공자로 가입한 사용자들 조회
     @Query("SELECT u FROM User u WHERE u.provider = :provider")
-    java.util.List<User> findAllByProvider(@Param("provider") Provider provider);
+    List<User> findAllByProvider(@Param("provider") Provider provider);
 
     // 이메일과 제공자로 사용자 조회 (동일 이메일, 다른 제공자 처리용)
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.provider = :provider")
@@ -57,4 +61,49 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     
     // 사용자명 존재 여부 확인
     boolean existsByUsername(String username);
+
+    // === 일반 로그인 (필요한 컬럼만 조회) ===
+
+    // 비밀번호 검증용 자격 정보 - 이메일 또는 아이디로 한 번에 조회 (이메일 일치를 우선)
+    @Query("SELECT u.id AS id, u.password AS password, u.provider AS provider, u.role AS role, u.active AS active " +
+           "FROM User u WHERE u.email = :loginId OR u.username = :loginId " +
+           "ORDER BY CASE WHEN u.email = :loginId THEN 0 ELSE 1 END")
+    List<LoginCredentialView> findLoginCredentials(@Param("loginId") String loginId);
+
+    // 로그인 성공 후 토큰 발급과 로그인 응답에 필요한 컬럼만 조회
+    @Query("SELECT u.id AS id, u.email AS email, u.name AS name, u.profileImage AS profileImage, " +
+           "u.provider AS provider, u.role AS role, u.tokenEpoch AS tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<LoginSubjectView> findLoginSubjectById(@Param("id") Long id);
+
+    // 비밀번호 해시만 교체 (로그인 시 재해싱)
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    interface LoginCredentialView {
+        Long getId();
+
+        String getPassword();
+
+        Provider getProvider();
+
+        Role getRole();
+
+        boolean isActive();
+    }
+
+    interface LoginSubjectView extends TokenSubject {
+    }
+
+    // === 토큰 epoch (발급된 Access Token 일괄 무효화) ===
+
+    // epoch가 증가한 적 있는 사용자 조회 (시작 시 epoch 테이블 복원용)
+    @Query("SELECT u.id AS userId, u.tokenEpoch AS tokenEpoch FROM User u WHERE u.tokenEpoch > 0")
+    List<TokenEpochView> findAllTokenEpochs();
+
+    interface TokenEpochView {
+        Long getUserId();
+
+        int getTokenEpoch();
+    }
 }
@@ -30,6 +30,10 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final RefreshTokenService refreshTokenService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final UserAvailabilityIndex userAvailabilityIndex;
 
     /**
      * 관리자 통계 정보 조회
@@ -92,6 +96,11 @@ public class AdminService {
                 .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + userId));
 
         user.setActive(!user.isActive());
+        if (!user.isActive()) {
+            // 비활성화된 사용자의 기존 Access Token 즉시 무효화
+            tokenEpochRegistry.revokeAll(user);
+        }
+        userPrincipalCache.invalidate(user);
         User savedUser = userRepository.save(user);
 
         log.info("사용자 상태 변경 완료 - userId: {}, 새 상태: {}", 
@@ -120,7 +129,13 @@ public class AdminService {
             }
         }
 
+        // 발급된 토큰 무효화 - CLAIMS 인증 모드에서는 사용자 조회 없이 인증되므로 epoch로 기존 Access Token 거부
+        // (다른 인스턴스는 token_epoch_changes 기록으로 반영), 로그인 세션은 모든 저장소에서 삭제
+        tokenEpochRegistry.revokeAll(user);
+        refreshTokenService.deleteAllSessions(userId);
+
         userRepository.delete(user);
+        userAvailabilityIndex.recordDeletion();
         log.info("사용자 삭제 완료 - userId: {}", userId);
     }
 
@@ -146,6 +161,7 @@ public class AdminService {
         // 새 프로필 이미지 저장
         String imageUrl = fileStorageService.storeFile(file);
         user.setProfileImage(imageUrl);
+        userPrincipalCache.invalidate(user);
         User savedUser = userRepository.save(user);
 
         log.info("프로필 이미지 업데이트 완료 - userId: {}", userId);
@@ -3,23 +3,34 @@ package com.example.authapp.service;
 import com.example.authapp.dto.oauth.OAuthUserInfo;
 import com.example.authapp.dto.request.LoginRequest;
 import com.example.authapp.dto.request.SignupRequest;
+import com.example.authapp.dto.response.AvailabilityResponse;
+import com.example.authapp.dto.response.IntrospectionResponse;
 import com.example.authapp.dto.response.LoginResponse;
+import com.example.authapp.dto.response.SessionResponse;
 import com.example.authapp.dto.response.TokenInfo;
+import com.example.authapp.dto.response.TokenValidationResult;
 import com.example.authapp.entity.Provider;
-import com.example.authapp.entity.RefreshToken;
+import com.example.authapp.entity.TokenSubject;
 import com.example.authapp.entity.User;
+import com.example.authapp.exception.RevokedTokenException;
+import com.example.authapp.repository.UserRepository;
+import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Slf4j
 @Service
@@ -30,7 +41,15 @@ public class AuthService extends DefaultOAuth2UserService {
     private final UserService userService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final TokenDenylist tokenDenylist;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final UserPrincipalCache userPrincipalCache;
     private final PasswordEncoder passwordEncoder;
+    private final PresenceBuffer presenceBuffer;
+    private final UserAvailabilityIndex userAvailabilityIndex;
+
+    @Value("${jwt.validation.batch-max-size:100}")
+    private int batchValidationMaxSize;
 
     // OAuth2 사용자 정보 로드 및 처리
     @Override
@@ -62,20 +81,20 @@ public class AuthService extends DefaultOAuth2UserService {
     }
 
     // 일반 회원가입
-    @Transactional
+    // 중복은 해싱 전에 가용성 인덱스로 먼저 거르고 (Bloom 필터에 없으면 DB 조회 없음), 동시 가입 경합은 unique 제약으로 판정
+    // 저장은 자체 트랜잭션에서 실행되어 실패 후에도 원인 조회 가능
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User signup(SignupRequest request) {
         // 비밀번호 확인 검증
         if (!request.getPassword().equals(request.getConfirmPassword())) {
             throw new RuntimeException("비밀번호와 비밀번호 확인이 일치하지 않습니다.");
         }
 
-        // 이메일 중복 검사
-        if (userService.existsByEmail(request.getEmail())) {
+        // 이미 사용중인 이메일/아이디는 BCrypt 해싱 전에 거절
+        if (userAvailabilityIndex.isEmailTaken(request.getEmail())) {
             throw new RuntimeException("이미 사용중인 이메일입니다.");
         }
-
-        // 아이디 중복 검사
-        if (userService.existsByUsername(request.getUsername())) {
+        if (userAvailabilityIndex.isUsernameTaken(request.getUsername())) {
             throw new RuntimeException("이미 사용중인 아이디입니다.");
         }
 
@@ -97,127 +116,171 @@ public class AuthService extends DefaultOAuth2UserService {
                 nickname // 처리된 닉네임 전달
         );
 
-        User savedUser = userService.save(user);
+        User savedUser;
+        try {
+            savedUser = userService.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateSignup(request, e);
+        }
+        userAvailabilityIndex.recordUser(savedUser.getEmail(), savedUser.getUsername());
         log.info("Regular user registered successfully: {} (nickname: {})", savedUser.getEmail(), nickname);
 
         return savedUser;
     }
 
+    // 가입 실패 원인 판정 (실패한 경우에만 조회)
+    private RuntimeException duplicateSignup(SignupRequest request, DataIntegrityViolationException e) {
+        if (userService.existsByEmail(request.getEmail())) {
+            return new RuntimeException("이미 사용중인 이메일입니다.");
+        }
+        if (userService.existsByUsername(request.getUsername())) {
+            return new RuntimeException("이미 사용중인 아이디입니다.");
+        }
+        // 중복이 아닌 제약 위반 - SQL 메시지는 응답에 노출하지 않고 로그로만 남김
+        log.warn("Signup rejected by database constraint: {}", e.getMostSpecificCause().getMessage());
+        return new RuntimeException("입력한 정보로 가입할 수 없습니다.");
+    }
+
+    // 이메일/아이디 사용 가능 여부 (Bloom 필터에 없으면 DB 조회 없음)
+    public AvailabilityResponse checkAvailability(String email, String username) {
+        return AvailabilityResponse.builder()
+                .emailAvailable(StringUtils.hasText(email) ? !userAvailabilityIndex.isEmailTaken(email) : null)
+                .usernameAvailable(StringUtils.hasText(username) ? !userAvailabilityIndex.isUsernameTaken(username) : null)
+                .build();
+    }
+
     // 일반 로그인
+    // 비밀번호 검증에는 자격 정보 컬럼만 조회하고, 토큰 발급에 필요한 컬럼은 검증에 성공한 경우에만 조회
     @Transactional
-    public LoginResponse regularLogin(LoginRequest request) {
+    public LoginResponse regularLogin(LoginRequest request, String userAgent) {
         log.info("로그인 시도 - loginId: {}", request.getLoginId());
-        
-        // 아이디 또는 이메일로 사용자 조회
-        User user = findUserByLoginId(request.getLoginId())
+
+        // 아이디 또는 이메일로 자격 정보 조회 (한 번의 쿼리)
+        UserRepository.LoginCredentialView credential = userService.findLoginCredential(request.getLoginId())
                 .orElseThrow(() -> {
                     log.warn("사용자를 찾을 수 없음 - loginId: {}", request.getLoginId());
                     return new RuntimeException("존재하지 않는 사용자입니다.");
                 });
 
-        log.info("사용자 찾음 - email: {}, username: {}, provider: {}", 
-                user.getEmail(), user.getUsername(), user.getProvider());
-
         // OAuth 사용자인지 확인
-        if (user.getProvider() != null) {
-            throw new RuntimeException("소셜 로그인 사용자입니다. " + user.getProvider().name() + " 로그인을 이용해주세요.");
+        if (credential.getProvider() != null) {
+            throw new RuntimeException("소셜 로그인 사용자입니다. " + credential.getProvider().name() + " 로그인을 이용해주세요.");
         }
 
         // 비밀번호 검증
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordEncoder.matches(request.getPassword(), credential.getPassword())) {
             log.warn("비밀번호 불일치 - loginId: {}", request.getLoginId());
             throw new RuntimeException("비밀번호가 일치하지 않습니다.");
         }
 
-        log.info("로그인 성공 - user: {}", user.getEmail());
-        // JWT 토큰 생성 및 로그인 처리
-        return login(user);
-    }
+        // 비활성 계정 확인 (비밀번호가 맞는 경우에만 계정 상태를 알려줌)
+        if (!credential.isActive()) {
+            throw new RuntimeException("비활성화된 계정입니다.");
+        }
 
-    // 아이디 또는 이메일로 사용자 찾기
-    private Optional<User> findUserByLoginId(String loginId) {
-        log.info("사용자 검색 시작 - loginId: {}", loginId);
-        
-        // 이메일 형식인지 확인
-        if (loginId.contains("@")) {
-            log.info("이메일 형식으로 검색: {}", loginId);
-            Optional<User> user = userService.findByEmail(loginId);
-            log.info("이메일 검색 결과: {}", user.isPresent() ? "찾음" : "못찾음");
-            return user;
-        } else {
-            log.info("아이디 형식으로 검색: {}", loginId);
-            Optional<User> user = userService.findByUsername(loginId);
-            log.info("아이디 검색 결과: {}", user.isPresent() ? "찾음" : "못찾음");
-            return user;
+        // 저장된 해시의 비용이 현재 설정과 다르면 재해싱
+        if (passwordEncoder.upgradeEncoding(credential.getPassword())) {
+            userService.updatePassword(credential.getId(), passwordEncoder.encode(request.getPassword()));
+            log.info("비밀번호 재해싱 - userId: {}", credential.getId());
         }
+
+        TokenSubject subject = userService.findLoginSubject(credential.getId())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        log.info("로그인 성공 - user: {}", subject.getEmail());
+        // JWT 토큰 생성 및 로그인 처리
+        return login(subject, request.getDeviceId(), userAgent);
     }
 
-    // 로그인 처리 - JWT 토큰 생성
+    // 로그인 처리 - JWT 토큰 생성 (기기별 세션 발급, 다른 기기의 세션은 유지)
     @Transactional
-    public LoginResponse login(User user) {
-        // 로그인 상태 업데이트
-        user.updateLoginStatus();
-        userService.save(user);
-        
+    public LoginResponse login(TokenSubject user, String deviceId, String userAgent) {
+        // 로그인 상태 업데이트 - 쓰기 지연 버퍼에 기록 (요청 트랜잭션에서 users 행을 갱신하지 않음)
+        presenceBuffer.recordLogin(user.getId());
+
         // Access Token 생성
         String accessToken = jwtService.generateAccessToken(user);
 
         // Refresh Token 생성 및 저장
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+        String refreshToken = refreshTokenService.createRefreshToken(user, deviceId, userAgent);
 
         log.info("User logged in successfully: {}", user.getEmail());
 
-        return LoginResponse.of(accessToken, refreshToken.getToken(), user);
+        return LoginResponse.of(accessToken, refreshToken, user);
     }
 
-    // Access Token 재발급
-    @Transactional
+    // Access Token 재발급 - Refresh Token도 함께 교체 (재사용 감지 시 무효화 내용은 커밋)
+    // 트랜잭션은 RefreshTokenService가 저장소에 맞게 처리 (JPA 저장소만 트랜잭션 사용)
+    // 정상 경로의 DB 접근: JPA 저장소는 토큰+사용자 fetch join 조회 1회, 조건부 교체 UPDATE 1회, 교체 기록 INSERT 1회
+    //                    메모리 맵 저장소는 없음 (세션에 보관된 소유자 정보로 Access Token 발급)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TokenInfo refreshToken(String refreshTokenValue) {
-        // Refresh Token 유효성 검증
-        if (!refreshTokenService.validateRefreshToken(refreshTokenValue)) {
-            throw new RuntimeException("유효하지 않은 Refresh Token입니다.");
-        }
-
-        // 새로운 Access Token 생성
-        String newAccessToken = refreshTokenService.refreshAccessToken(refreshTokenValue);
-
-        // Refresh Token 정보 조회
-        RefreshToken refreshToken = refreshTokenService.findByToken(refreshTokenValue)
-                .orElseThrow(() -> new RuntimeException("Refresh Token을 찾을 수 없습니다."));
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(refreshTokenValue);
 
         return TokenInfo.of(
-                newAccessToken,
-                refreshTokenValue,
-                86400L, // 24시간 (초)
-                604800L // 7일 (초)
+                rotated.accessToken(),
+                rotated.refreshToken(),
+                jwtService.getAccessTokenExpiresIn(),
+                jwtService.getRefreshTokenExpiresIn()
         );
     }
 
-    // 로그아웃 처리
+    // 로그아웃 처리 - Access Token이 전달되면 만료 전까지 사용할 수 없도록 무효화
     @Transactional
-    public void logout(String refreshTokenValue) {
-        RefreshToken refreshToken = refreshTokenService.findByToken(refreshTokenValue)
+    public void logout(String refreshTokenValue, String accessToken) {
+        revokeAccessToken(accessToken);
+
+        RefreshSession session = refreshTokenService.findByToken(refreshTokenValue)
                 .orElse(null);
 
-        if (refreshToken != null) {
-            // 사용자 온라인 상태 업데이트
-            User user = refreshToken.getUser();
-            user.updateLogoutStatus();
-            userService.save(user);
-            
-            refreshTokenService.deleteRefreshToken(refreshToken);
-            log.info("User logged out successfully: {}", user.getEmail());
+        if (session != null) {
+            refreshTokenService.deleteSession(session);
+
+            // 사용자 온라인 상태 업데이트 (다른 기기의 세션이 남아 있으면 유지)
+            userService.findById(session.userId()).ifPresent(user -> {
+                if (!refreshTokenService.hasSessions(user)) {
+                    presenceBuffer.recordLogout(user.getId());
+                }
+                log.info("User logged out successfully: {}", user.getEmail());
+            });
         }
     }
 
-    // 사용자 ID로 로그아웃 처리
+    // 사용자의 로그인 세션 목록 (최근 사용 순)
+    public List<SessionResponse> getSessions(User user) {
+        return refreshTokenService.findSessions(user).stream()
+                .map(SessionResponse::from)
+                .toList();
+    }
+
+    // 로그인 세션 하나 무효화 (해당 기기의 Refresh Token 폐기)
+    @Transactional
+    public void revokeSession(User user, Long sessionId) {
+        refreshTokenService.revokeSession(user, sessionId);
+    }
+
+    // Access Token 무효화 (이미 만료되었거나 유효하지 않은 토큰은 무시)
+    private void revokeAccessToken(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            return;
+        }
+        try {
+            VerifiedToken verifiedToken = jwtService.verify(accessToken);
+            tokenDenylist.revoke(verifiedToken.jti(), verifiedToken.userId(), verifiedToken.expiration());
+        } catch (Exception e) {
+            log.debug("Access token not revoked: {}", e.getMessage());
+        }
+    }
+
+    // 사용자 ID로 로그아웃 처리 (모든 기기에서 로그아웃 - 발급된 모든 토큰 무효화)
     @Transactional
     public void logout(Long userId) {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        // 사용자 온라인 상태 업데이트
-        user.updateLogoutStatus();
+        // 사용자 온라인 상태 업데이트 (쓰기 지연 버퍼)
+        presenceBuffer.recordLogout(user.getId());
+        tokenEpochRegistry.revokeAll(user);
         userService.save(user);
 
         refreshTokenService.deleteRefreshTokenByUser(user);
@@ -226,20 +289,54 @@ public class AuthService extends DefaultOAuth2UserService {
 
     // JWT 토큰에서 사용자 정보 조회
     public User getUserFromToken(String token) {
-        String email = jwtService.getEmailFromToken(token);
-        return userService.findByEmail(email)
+        VerifiedToken verifiedToken = jwtService.verify(token);
+        return userPrincipalCache.findByEmail(verifiedToken.email())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
     }
 
     // 토큰 유효성 검증
     public boolean validateToken(String token) {
+        return inspectToken(token).isValid();
+    }
+
+    // 토큰 검증 결과 조회 (단건/일괄 검증 공통 경로)
+    public TokenValidationResult inspectToken(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenValidationResult.invalid("INVALID_TOKEN");
+        }
         try {
-            String email = jwtService.getEmailFromToken(token);
-            return jwtService.isTokenValid(token, email);
+            return TokenValidationResult.valid(jwtService.verify(token));
+        } catch (ExpiredJwtException e) {
+            return TokenValidationResult.invalid("EXPIRED_TOKEN");
+        } catch (RevokedTokenException e) {
+            return TokenValidationResult.invalid("REVOKED_TOKEN");
         } catch (Exception e) {
             log.warn("Token validation failed: {}", e.getMessage());
-            return false;
+            return TokenValidationResult.invalid("INVALID_TOKEN");
+        }
+    }
+
+    // 토큰 인트로스펙션 (RFC 7662) - 검증 결과는 VerifiedTokenCache에 토큰 만료 시점까지 보관됨
+    public IntrospectionResponse introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return IntrospectionResponse.inactive();
+        }
+        try {
+            return IntrospectionResponse.active(jwtService.verify(token));
+        } catch (Exception e) {
+            log.debug("Introspected token is inactive: {}", e.getMessage());
+            return IntrospectionResponse.inactive();
+        }
+    }
+
+    // 여러 토큰 일괄 검증 (요청 순서대로 결과 반환)
+    public List<TokenValidationResult> inspectTokens(List<String> tokens) {
+        if (tokens.size() > batchValidationMaxSize) {
+            throw new RuntimeException("한 번에 검증할 수 있는 토큰은 최대 " + batchValidationMaxSize + "개입니다.");
         }
+        return tokens.stream()
+                .map(this::inspectToken)
+                .toList();
     }
 
     // 이메일에서 사용자명 생성 유틸리티 메서드
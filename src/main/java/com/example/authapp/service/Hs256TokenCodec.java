@@ -0,0 +1,485 @@
+package com.example.authapp.service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 고정된 Access Token 형태 전용 HS256 인코더/검증기
+ * - 클레임 순서: role, provider, userId, email, jti, tokenEpoch, sub, iat, exp (jjwt 경로와 바이트 단위로 동일)
+ * - Mac과 버퍼를 작은 공유 풀에서 빌려 재사용하여 Map/Date/빌더 생성 없이 발급/검증
+ *   (ThreadLocal은 요청마다 새 스레드인 virtual thread 모드에서 매번 새로 생성되므로 사용하지 않음)
+ * - 형태가 다르거나 검증에 실패한 토큰은 null을 반환하고, 호출 측은 jjwt 경로로 처리
+ */
+final class Hs256TokenCodec {
+
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final int[] BASE64_URL_DECODE = new int[128];
+
+    static {
+        Arrays.fill(BASE64_URL_DECODE, -1);
+        for (int i = 0; i < BASE64_URL.length; i++) {
+            BASE64_URL_DECODE[BASE64_URL[i]] = i;
+        }
+    }
+
+    private static final String HEADER_SEGMENT = base64Url("{\"alg\":\"HS256\"}");
+
+    private final SecretKey secretKey;
+    // 발급/검증은 블로킹 없이 끝나므로 동시에 필요한 수는 실행 중인 캐리어/플랫폼 스레드 수 정도 - 넘치면 반납 시 버림
+    private final ArrayBlockingQueue<Buffers> pool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    Hs256TokenCodec(SecretKey secretKey) {
+        this.secretKey = secretKey;
+        pool.offer(new Buffers(newMac())); // 키가 HMAC-SHA256에 사용 가능한지 즉시 확인
+    }
+
+    // Access Token 발급 - 서명 불가능한 입력(제어 문자 등)이면 null
+    String encode(long userId, String email, String role, String provider, String jti, int tokenEpoch,
+                  long issuedAt, long expiration) {
+        if (!isPlain(email) || !isPlain(role) || !isPlain(provider) || !isPlain(jti)) {
+            return null;
+        }
+
+        Buffers buf = borrow();
+        try {
+            return encode(buf, userId, email, role, provider, jti, tokenEpoch, issuedAt, expiration);
+        } finally {
+            pool.offer(buf);
+        }
+    }
+
+    private String encode(Buffers buf, long userId, String email, String role, String provider, String jti,
+                          int tokenEpoch, long issuedAt, long expiration) {
+        ByteBuffer json = buf.json.reset();
+        json.ascii("{\"role\":\"").utf8(role)
+                .ascii("\",\"provider\":\"").utf8(provider)
+                .ascii("\",\"userId\":").number(userId)
+                .ascii(",\"email\":\"").utf8(email)
+                .ascii("\",\"jti\":\"").utf8(jti)
+                .ascii("\",\"tokenEpoch\":").number(tokenEpoch)
+                .ascii(",\"sub\":\"").utf8(email)
+                .ascii("\",\"iat\":").number(issuedAt)
+                .ascii(",\"exp\":").number(expiration)
+                .ascii("}");
+
+        ByteBuffer out = buf.token.reset();
+        out.ascii(HEADER_SEGMENT).ascii(".");
+        out.base64Url(json.bytes, json.length);
+
+        Mac mac = buf.mac;
+        mac.update(out.bytes, 0, out.length);
+        try {
+            mac.doFinal(buf.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 계산 실패", e);
+        }
+
+        out.ascii(".");
+        out.base64Url(buf.signature, SIGNATURE_LENGTH);
+        return new String(out.bytes, 0, out.length, StandardCharsets.US_ASCII);
+    }
+
+    // Access Token 검증 - 고정 형태가 아니거나 서명/만료 검증에 실패하면 null
+    VerifiedToken verify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot != HEADER_SEGMENT.length() || secondDot < 0
+                || token.indexOf('.', secondDot + 1) >= 0
+                || !token.startsWith(HEADER_SEGMENT)) {
+            return null;
+        }
+
+        Buffers buf = borrow();
+        try {
+            return verify(buf, token, firstDot, secondDot);
+        } finally {
+            pool.offer(buf);
+        }
+    }
+
+    private VerifiedToken verify(Buffers buf, String token, int firstDot, int secondDot) {
+        // 서명 대상(header.payload)을 ASCII 바이트로 복사
+        ByteBuffer signed = buf.token.reset();
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return null;
+            }
+            signed.put((byte) c);
+        }
+
+        if (decodeBase64Url(token, secondDot + 1, token.length(), buf.presented) != SIGNATURE_LENGTH) {
+            return null;
+        }
+
+        Mac mac = buf.mac;
+        mac.update(signed.bytes, 0, signed.length);
+        try {
+            mac.doFinal(buf.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 계산 실패", e);
+        }
+        if (!MessageDigest.isEqual(buf.signature, buf.presented)) {
+            return null;
+        }
+
+        ByteBuffer json = buf.json.reset();
+        int payloadLength = decodeBase64Url(token, firstDot + 1, secondDot, json.ensure(secondDot - firstDot));
+        if (payloadLength < 0) {
+            return null;
+        }
+        json.length = payloadLength;
+
+        ClaimsReader claims = new ClaimsReader(json.bytes, payloadLength);
+        if (!claims.read() || claims.sub == null || claims.exp == Long.MIN_VALUE) {
+            return null;
+        }
+        if (claims.exp <= Instant.now().getEpochSecond()) {
+            return null; // 만료 토큰은 jjwt 경로에서 ExpiredJwtException으로 처리
+        }
+
+        return new VerifiedToken(
+                claims.userId == Long.MIN_VALUE ? null : claims.userId,
+                claims.sub,
+                claims.role,
+                claims.provider,
+                claims.jti,
+                claims.tokenEpoch,
+                Instant.ofEpochSecond(claims.exp));
+    }
+
+    // 풀이 비어 있으면 새로 생성 (반납 시 풀에 여유가 있으면 보관)
+    private Buffers borrow() {
+        Buffers buf = pool.poll();
+        return buf != null ? buf : new Buffers(newMac());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(secretKey);
+            return mac;
+        } catch (InvalidKeyException e) {
+            throw new IllegalArgumentException("HS256에 사용할 수 없는 키입니다.", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    // JSON 이스케이프가 필요 없는 문자열인지 확인 (필요한 경우 jjwt 경로 사용)
+    private static boolean isPlain(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || Character.isSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Base64URL(패딩 없음) 디코딩 - 잘못된 입력이면 -1
+    private static int decodeBase64Url(String src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int outLength = length / 4 * 3 + Math.max(length % 4 - 1, 0);
+        if (outLength > dst.length) {
+            return -1;
+        }
+
+        int bits = 0;
+        int bitCount = 0;
+        int out = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? BASE64_URL_DECODE[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[out++] = (byte) (bits >> bitCount);
+            }
+        }
+        return out;
+    }
+
+    private static String base64Url(String value) {
+        ByteBuffer buffer = new ByteBuffer(64);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.base64Url(bytes, bytes.length);
+        return new String(buffer.bytes, 0, buffer.length, StandardCharsets.US_ASCII);
+    }
+
+    // 한 번에 한 요청만 사용하는 Mac과 버퍼 묶음
+    private static final class Buffers {
+        final Mac mac;
+        final ByteBuffer json = new ByteBuffer(256);
+        final ByteBuffer token = new ByteBuffer(512);
+        final byte[] signature = new byte[SIGNATURE_LENGTH];
+        final byte[] presented = new byte[SIGNATURE_LENGTH];
+
+        Buffers(Mac mac) {
+            this.mac = mac;
+        }
+    }
+
+    // 크기가 늘어나는 바이트 버퍼
+    private static final class ByteBuffer {
+        byte[] bytes;
+        int length;
+
+        ByteBuffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        ByteBuffer reset() {
+            length = 0;
+            return this;
+        }
+
+        byte[] ensure(int capacity) {
+            if (bytes.length < capacity) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+            }
+            return bytes;
+        }
+
+        void put(byte b) {
+            ensure(length + 1);
+            bytes[length++] = b;
+        }
+
+        ByteBuffer ascii(String value) {
+            ensure(length + value.length());
+            for (int i = 0; i < value.length(); i++) {
+                bytes[length++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        ByteBuffer utf8(String value) {
+            ensure(length + value.length() * 3);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xc0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3f));
+                } else {
+                    bytes[length++] = (byte) (0xe0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            return this;
+        }
+
+        ByteBuffer number(long value) {
+            if (value == Long.MIN_VALUE) {
+                return ascii(Long.toString(value));
+            }
+            ensure(length + 20);
+            if (value < 0) {
+                bytes[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                bytes[length++] = (byte) ('0' + (value % 10));
+                value /= 10;
+            } while (value != 0);
+            // 역순으로 기록된 숫자 뒤집기
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte tmp = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = tmp;
+            }
+            return this;
+        }
+
+        void base64Url(byte[] src, int srcLength) {
+            ensure(length + (srcLength + 2) / 3 * 4);
+            int i = 0;
+            for (; i + 2 < srcLength; i += 3) {
+                int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+                bytes[length++] = BASE64_URL[bits >>> 18];
+                bytes[length++] = BASE64_URL[(bits >>> 12) & 0x3f];
+                bytes[length++] = BASE64_URL[(bits >>> 6) & 0x3f];
+                bytes[length++] = BASE64_URL[bits & 0x3f];
+            }
+            int remaining = srcLength - i;
+            if (remaining == 1) {
+                int bits = (src[i] & 0xff) << 16;
+                bytes[length++] = BASE64_URL[bits >>> 18];
+                bytes[length++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            } else if (remaining == 2) {
+                int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+                bytes[length++] = BASE64_URL[bits >>> 18];
+                bytes[length++] = BASE64_URL[(bits >>> 12) & 0x3f];
+                bytes[length++] = BASE64_URL[(bits >>> 6) & 0x3f];
+            }
+        }
+    }
+
+    // 평면 JSON 객체(문자열/정수 값만) 클레임 파서 - 알 수 없는 클레임이나 형식이면 실패
+    private static final class ClaimsReader {
+        private final byte[] json;
+        private final int length;
+        private int pos;
+
+        String sub;
+        String role;
+        String provider;
+        String jti;
+        long userId = Long.MIN_VALUE;
+        int tokenEpoch;
+        long exp = Long.MIN_VALUE;
+
+        ClaimsReader(byte[] json, int length) {
+            this.json = json;
+            this.length = length;
+        }
+
+        boolean read() {
+            if (!expect('{')) {
+                return false;
+            }
+            if (peek() == '}') {
+                return false;
+            }
+            while (true) {
+                int keyStart = pos + 1;
+                int keyEnd = readString();
+                if (keyEnd < 0 || !expect(':')) {
+                    return false;
+                }
+                if (!readValue(keyStart, keyEnd)) {
+                    return false;
+                }
+                if (peek() == ',') {
+                    pos++;
+                    continue;
+                }
+                return expect('}') && pos == length;
+            }
+        }
+
+        private boolean readValue(int keyStart, int keyEnd) {
+            if (keyIs(keyStart, keyEnd, "userId")) {
+                userId = readLong();
+                return userId != Long.MIN_VALUE;
+            }
+            if (keyIs(keyStart, keyEnd, "exp")) {
+                exp = readLong();
+                return exp != Long.MIN_VALUE;
+            }
+            if (keyIs(keyStart, keyEnd, "tokenEpoch")) {
+                long value = readLong();
+                tokenEpoch = (int) value;
+                return value >= 0 && value <= Integer.MAX_VALUE;
+            }
+            if (keyIs(keyStart, keyEnd, "iat")) {
+                return readLong() != Long.MIN_VALUE;
+            }
+
+            int valueStart = pos + 1;
+            int valueEnd = readString();
+            if (valueEnd < 0) {
+                return false;
+            }
+            String value = new String(json, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+            if (keyIs(keyStart, keyEnd, "sub")) {
+                sub = value;
+            } else if (keyIs(keyStart, keyEnd, "role")) {
+                role = value;
+            } else if (keyIs(keyStart, keyEnd, "provider")) {
+                provider = value;
+            } else if (keyIs(keyStart, keyEnd, "jti")) {
+                jti = value;
+            } else {
+                return keyIs(keyStart, keyEnd, "email");
+            }
+            return true;
+        }
+
+        // 이스케이프 없는 문자열만 허용 - 닫는 따옴표 위치 반환, 실패 시 -1
+        private int readString() {
+            if (pos >= length || json[pos] != '"') {
+                return -1;
+            }
+            for (int i = pos + 1; i < length; i++) {
+                byte b = json[i];
+                if (b == '"') {
+                    pos = i + 1;
+                    return i;
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private long readLong() {
+            int start = pos;
+            boolean negative = pos < length && json[pos] == '-';
+            if (negative) {
+                pos++;
+            }
+            long value = 0;
+            int digits = 0;
+            while (pos < length && json[pos] >= '0' && json[pos] <= '9') {
+                if (++digits > 18) {
+                    return Long.MIN_VALUE;
+                }
+                value = value * 10 + (json[pos++] - '0');
+            }
+            if (digits == 0 || (digits > 1 && json[start + (negative ? 1 : 0)] == '0')) {
+                return Long.MIN_VALUE;
+            }
+            return negative ? -value : value;
+        }
+
+        private boolean keyIs(int start, int end, String key) {
+            if (end - start != key.length()) {
+                return false;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                if (json[start + i] != key.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int peek() {
+            return pos < length ? json[pos] : -1;
+        }
+
+        private boolean expect(char c) {
+            if (pos < length && json[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
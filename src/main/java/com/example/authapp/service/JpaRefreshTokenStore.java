@@ -0,0 +1,125 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.RefreshToken;
+import com.example.authapp.entity.TokenSubject;
+import com.example.authapp.repository.RefreshTokenHistoryRepository;
+import com.example.authapp.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MySQL refresh_tokens 테이블 기반 세션 저장소 (기본)
+ * - 호출하는 서비스의 트랜잭션 안에서 동작
+ * - 세션 조회 시 사용자를 함께 조회(fetch join)하여 세션의 소유자로 전달 (소유자 정보는 users 테이블에서 읽으므로 따로 저장하지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.session.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenHistoryRepository refreshTokenHistoryRepository;
+
+    @Override
+    public long upsert(TokenSubject owner, String deviceId, String userAgent, byte[] tokenHash, String familyId,
+                       LocalDateTime expiresAt, LocalDateTime now) {
+        long userId = owner.getId();
+        refreshTokenRepository.upsertForDevice(userId, deviceId, userAgent, tokenHash, familyId, expiresAt, now);
+        return refreshTokenRepository.findIdByUserIdAndDeviceId(userId, deviceId)
+                .orElseThrow(() -> new IllegalStateException("Refresh Token 저장에 실패했습니다."));
+    }
+
+    @Override
+    public Optional<RefreshSession> findById(long id) {
+        return refreshTokenRepository.findWithUserById(id).map(JpaRefreshTokenStore::toSession);
+    }
+
+    @Override
+    public boolean rotate(long id, byte[] currentHash, byte[] newHash, LocalDateTime expiresAt, LocalDateTime now,
+                          TokenSubject owner) {
+        if (refreshTokenRepository.rotate(id, currentHash, newHash, expiresAt, now) != 1) {
+            return false;
+        }
+        refreshTokenHistoryRepository.recordRotation(id, currentHash, now);
+        return true;
+    }
+
+    @Override
+    public boolean isRotatedToken(long id, String familyId, byte[] tokenHash) {
+        return refreshTokenHistoryRepository.existsRotation(id, familyId, tokenHash);
+    }
+
+    @Override
+    public List<RefreshSession> findActiveByUserId(long userId, LocalDateTime now) {
+        return refreshTokenRepository.findActiveByUserId(userId, now).stream()
+                .map(JpaRefreshTokenStore::toSession)
+                .toList();
+    }
+
+    @Override
+    public long countByUserId(long userId) {
+        return refreshTokenRepository.countByUserId(userId);
+    }
+
+    @Override
+    public boolean existsByUserId(long userId) {
+        return refreshTokenRepository.existsByUserId(userId);
+    }
+
+    @Override
+    public int deleteOldestByUserId(long userId, int keep) {
+        return refreshTokenRepository.deleteOldestByUserId(userId, keep);
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        return refreshTokenRepository.deleteSessionById(id) > 0;
+    }
+
+    @Override
+    public boolean deleteByIdAndUserId(long id, long userId) {
+        return refreshTokenRepository.deleteByIdAndUserId(id, userId) > 0;
+    }
+
+    @Override
+    public void deleteByUserId(long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    public Optional<RefreshSession> findByLegacyToken(String legacyToken) {
+        return refreshTokenRepository.findWithUserByLegacyToken(legacyToken).map(JpaRefreshTokenStore::toSession);
+    }
+
+    @Override
+    public Optional<RefreshSession> findByLegacyFamilyId(String familyId) {
+        return refreshTokenRepository.findWithUserByFamilyId(familyId).map(JpaRefreshTokenStore::toSession);
+    }
+
+    @Override
+    public boolean migrateLegacyToken(long id, String legacyToken, byte[] newHash,
+                                      LocalDateTime expiresAt, LocalDateTime now) {
+        return refreshTokenRepository.migrateLegacyToken(id, legacyToken, newHash, expiresAt, now) == 1;
+    }
+
+    private static RefreshSession toSession(RefreshToken refreshToken) {
+        return new RefreshSession(
+                refreshToken.getId(),
+                refreshToken.getUser().getId(),
+                refreshToken.getDeviceId(),
+                refreshToken.getUserAgent(),
+                refreshToken.getFamilyId(),
+                refreshToken.getTokenHash(),
+                refreshToken.getPreviousHash(),
+                refreshToken.getExpiresAt(),
+                refreshToken.getCreatedAt(),
+                refreshToken.getLastUsedAt(),
+                Hibernate.isInitialized(refreshToken.getUser()) ? refreshToken.getUser() : null); // 함께 조회되지 않은 사용자(지연 로딩)는 전달하지 않음
+    }
+}
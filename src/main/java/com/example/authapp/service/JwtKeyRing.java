@@ -0,0 +1,357 @@
+package com.example.authapp.service;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * JWT 서명 키 관리
+ * - HS256: 기존 공유 비밀키로 서명 (kid 없음)
+ * - EdDSA(Ed25519) / ES256: kid가 부여된 키 쌍으로 서명하고 공개키를 JWKS로 배포
+ * - 키 교체(rotate) 후에도 이전 공개키는 발급된 Access Token이 모두 만료될 때까지 검증용으로 유지
+ * - 여러 인스턴스는 key-dir을 공유 - 다른 인스턴스가 교체한 키는 주기적으로, 또는 알 수 없는 kid를 만났을 때 다시 읽어 반영
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    public enum Algorithm {
+        HS256, EdDSA, ES256
+    }
+
+    private static final String EMPTY_JWKS = "{\"keys\":[]}";
+    private static final long MIN_RELOAD_INTERVAL_MILLIS = 5_000; // 알 수 없는 kid로 인한 디렉토리 재조회 최소 간격
+
+    private final Algorithm algorithm;
+    private final SecretKey secretKey;
+    private final boolean acceptLegacyHs256;
+    private final Path keyDir;
+    private final Duration retention;
+
+    // 최신 키가 맨 앞 (첫 번째 키가 현재 서명 키)
+    private volatile List<SigningKey> signingKeys = List.of();
+    private volatile String jwks = EMPTY_JWKS;
+    private volatile String jwksEtag = etag(EMPTY_JWKS);
+    private final AtomicLong lastReloadAt = new AtomicLong();
+
+    public JwtKeyRing(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.signing.algorithm:HS256}") Algorithm algorithm,
+            @Value("${jwt.signing.accept-legacy-hs256:true}") boolean acceptLegacyHs256,
+            @Value("${jwt.signing.key-dir:}") String keyDir,
+            @Value("${jwt.expiration}") long accessTokenLifetime) {
+        this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.algorithm = algorithm;
+        this.acceptLegacyHs256 = acceptLegacyHs256;
+        this.keyDir = StringUtils.hasText(keyDir) ? Path.of(keyDir) : null;
+        // 서명 키는 Access Token에만 사용 (Refresh Token은 불투명 토큰) - 교체된 키는 Access Token 수명 동안 유지
+        this.retention = Duration.ofSeconds(accessTokenLifetime);
+
+        if (isAsymmetric()) {
+            initializeKeys();
+        }
+        log.info("JWT signing algorithm: {}, active kid: {}", algorithm, getActiveKeyId());
+    }
+
+    public boolean isAsymmetric() {
+        return algorithm != Algorithm.HS256;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    // HS256 서명/검증용 공유 비밀키
+    public SecretKey getSecretKey() {
+        return secretKey;
+    }
+
+    public String getActiveKeyId() {
+        List<SigningKey> keys = signingKeys;
+        return keys.isEmpty() ? null : keys.get(0).kid();
+    }
+
+    // 현재 서명 키로 토큰 서명
+    @SuppressWarnings("deprecation")
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (!isAsymmetric()) {
+            return builder.signWith(secretKey, SignatureAlgorithm.HS256);
+        }
+
+        SigningKey active = signingKeys.get(0);
+        return builder
+                .header().keyId(active.kid()).and()
+                .signWith(active.keyPair().getPrivate(), signatureAlgorithm());
+    }
+
+    // 토큰 헤더의 kid로 검증 키 선택 (kid 없는 토큰은 기존 HS256 토큰)
+    public LocatorAdapter<Key> keyLocator() {
+        return new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId();
+                if (kid == null) {
+                    return (!isAsymmetric() || acceptLegacyHs256) ? secretKey : null;
+                }
+                Key key = findPublicKey(kid);
+                if (key == null && reloadThrottled()) {
+                    key = findPublicKey(kid); // 다른 인스턴스가 방금 교체한 키일 수 있음
+                }
+                return key; // 그래도 없으면 검증 실패
+            }
+        };
+    }
+
+    private Key findPublicKey(String kid) {
+        for (SigningKey key : signingKeys) {
+            if (key.kid().equals(kid)) {
+                return key.keyPair().getPublic();
+            }
+        }
+        return null;
+    }
+
+    // JWKS 문서 (공개키 목록, JSON)
+    public String getJwks() {
+        return jwks;
+    }
+
+    public String getJwksEtag() {
+        return jwksEtag;
+    }
+
+    // 서명 키 교체 - 새 키로 서명을 시작하고 이전 키는 보존 기간 동안 검증용으로 유지
+    public synchronized String rotate() {
+        if (!isAsymmetric()) {
+            throw new IllegalStateException("HS256 모드에서는 키 교체를 지원하지 않습니다.");
+        }
+
+        SigningKey newKey = generateKey();
+        List<SigningKey> keys = new ArrayList<>();
+        keys.add(newKey);
+        keys.addAll(signingKeys);
+        publish(keys);
+
+        log.info("JWT signing key rotated - new kid: {}", newKey.kid());
+        return newKey.kid();
+    }
+
+    // 다른 인스턴스가 교체한 키 반영 (공유 key-dir 재조회) - 가장 최근 키가 이 인스턴스의 서명 키가 됨
+    @Scheduled(fixedDelayString = "${jwt.signing.key-reload-interval:60000}")
+    public void reloadKeys() {
+        if (!isAsymmetric() || keyDir == null) {
+            return;
+        }
+        lastReloadAt.set(System.currentTimeMillis());
+        synchronized (this) {
+            Map<String, SigningKey> keys = new LinkedHashMap<>();
+            for (SigningKey key : signingKeys) {
+                keys.put(key.kid(), key);
+            }
+            List<SigningKey> loaded;
+            try {
+                loaded = loadKeys();
+            } catch (RuntimeException e) {
+                log.warn("Failed to reload JWT signing keys from {}", keyDir, e);
+                return;
+            }
+            List<String> added = new ArrayList<>();
+            for (SigningKey key : loaded) {
+                if (keys.putIfAbsent(key.kid(), key) == null) {
+                    added.add(key.kid());
+                }
+            }
+            if (!added.isEmpty()) {
+                publish(new ArrayList<>(keys.values()));
+                log.info("Loaded JWT signing keys rotated by another instance: {}, active kid: {}", added, getActiveKeyId());
+            }
+        }
+    }
+
+    // 알 수 없는 kid 검증 시 재조회 - 임의 kid로 디렉토리를 반복 조회하지 않도록 최소 간격 유지
+    private boolean reloadThrottled() {
+        long last = lastReloadAt.get();
+        long now = System.currentTimeMillis();
+        if (keyDir == null || now - last < MIN_RELOAD_INTERVAL_MILLIS || !lastReloadAt.compareAndSet(last, now)) {
+            return false;
+        }
+        reloadKeys();
+        return true;
+    }
+
+    private synchronized void initializeKeys() {
+        List<SigningKey> keys = new ArrayList<>(loadKeys());
+        if (keyDir != null) {
+            log.info("Loaded {} JWT signing keys from {}", keys.size(), keyDir);
+        }
+        if (keys.isEmpty()) {
+            keys.add(generateKey());
+        }
+        publish(keys);
+    }
+
+    // 보존 기간이 지난 키를 정리하고 JWKS 문서 갱신
+    private void publish(List<SigningKey> keys) {
+        keys.sort(Comparator.comparing(SigningKey::createdAt).reversed());
+
+        List<SigningKey> retained = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < keys.size(); i++) {
+            // 키의 폐기 시점 = 다음 키가 생성된 시점
+            Instant retiredAt = i == 0 ? null : keys.get(i - 1).createdAt();
+            if (retiredAt == null || retiredAt.plus(retention).isAfter(now)) {
+                retained.add(keys.get(i));
+            } else {
+                deleteKeyFiles(keys.get(i));
+            }
+        }
+
+        List<String> publicJwks = new ArrayList<>();
+        for (SigningKey key : retained) {
+            PublicJwk<?> jwk = Jwks.builder()
+                    .key(key.keyPair().getPublic())
+                    .id(key.kid())
+                    .algorithm(signatureAlgorithm().getId())
+                    .publicKeyUse("sig")
+                    .build();
+            publicJwks.add(Jwks.json(jwk));
+        }
+
+        String document = "{\"keys\":[" + String.join(",", publicJwks) + "]}";
+        this.signingKeys = List.copyOf(retained);
+        this.jwks = document;
+        this.jwksEtag = etag(document);
+    }
+
+    private static String etag(String document) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(document.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private SigningKey generateKey() {
+        KeyPair keyPair = switch (algorithm) {
+            case EdDSA -> Jwks.CRV.Ed25519.keyPair().build();
+            case ES256 -> Jwts.SIG.ES256.keyPair().build();
+            case HS256 -> throw new IllegalStateException("HS256 does not use key pairs");
+        };
+        String kid = Jwks.builder().key(keyPair.getPublic()).idFromThumbprint().build().getId();
+        SigningKey key = new SigningKey(kid, keyPair, Instant.now());
+        saveKeyFiles(key);
+        return key;
+    }
+
+    private io.jsonwebtoken.security.SignatureAlgorithm signatureAlgorithm() {
+        return algorithm == Algorithm.EdDSA ? Jwts.SIG.EdDSA : Jwts.SIG.ES256;
+    }
+
+    private String keyFactoryAlgorithm() {
+        return algorithm == Algorithm.EdDSA ? "Ed25519" : "EC";
+    }
+
+    // 키 디렉토리에서 키 쌍 로드 (<kid>.key: PKCS#8, <kid>.pub: X.509)
+    private List<SigningKey> loadKeys() {
+        if (keyDir == null) {
+            log.warn("jwt.signing.key-dir is not set - signing keys are kept in memory only and will change on restart");
+            return List.of();
+        }
+
+        List<SigningKey> keys = new ArrayList<>();
+        try (Stream<Path> files = Files.exists(keyDir) ? Files.list(keyDir) : Stream.empty()) {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm());
+            for (Path privateFile : files.filter(p -> p.toString().endsWith(".key")).toList()) {
+                String fileName = privateFile.getFileName().toString();
+                String kid = fileName.substring(0, fileName.length() - ".key".length());
+                Path publicFile = keyDir.resolve(kid + ".pub");
+                if (!Files.exists(publicFile)) {
+                    log.warn("Public key file missing for kid: {}", kid);
+                    continue;
+                }
+
+                KeyPair keyPair = new KeyPair(
+                        keyFactory.generatePublic(new X509EncodedKeySpec(Files.readAllBytes(publicFile))),
+                        keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Files.readAllBytes(privateFile))));
+                keys.add(new SigningKey(kid, keyPair, Files.getLastModifiedTime(privateFile).toInstant()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("JWT 서명 키 로드 실패: " + keyDir, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명 키 형식 오류: " + keyDir, e);
+        }
+        return keys;
+    }
+
+    private void saveKeyFiles(SigningKey key) {
+        if (keyDir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(keyDir);
+            // 다른 인스턴스가 쓰는 중인 키를 읽지 않도록 .key는 임시 파일에 쓴 뒤 원자적으로 이동 (.pub가 먼저 존재)
+            Path tempFile = keyDir.resolve(key.kid() + ".key.tmp");
+            Files.write(keyDir.resolve(key.kid() + ".pub"), key.keyPair().getPublic().getEncoded());
+            Files.write(tempFile, key.keyPair().getPrivate().getEncoded());
+            Files.setLastModifiedTime(tempFile, FileTime.from(key.createdAt()));
+            Files.move(tempFile, keyDir.resolve(key.kid() + ".key"), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("JWT 서명 키 저장 실패: " + keyDir, e);
+        }
+    }
+
+    private void deleteKeyFiles(SigningKey key) {
+        if (keyDir == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(keyDir.resolve(key.kid() + ".key"));
+            Files.deleteIfExists(keyDir.resolve(key.kid() + ".pub"));
+            log.info("Removed retired JWT signing key: {}", key.kid());
+        } catch (IOException e) {
+            log.warn("Failed to remove retired JWT signing key: {}", key.kid(), e);
+        }
+    }
+
+    private record SigningKey(String kid, KeyPair keyPair, Instant createdAt) {
+    }
+}
@@ -1,68 +1,119 @@
 package com.example.authapp.service;
 
-import com.example.authapp.entity.User;
+import com.example.authapp.entity.TokenSubject;
+import com.example.authapp.exception.RevokedTokenException;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Service
 public class JwtService {
 
-    private final SecretKey secretKey;
+    private final JwtKeyRing jwtKeyRing;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final Hs256TokenCodec fastPathCodec; // HS256 모드 전용 (null이면 jjwt만 사용)
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
     public JwtService(
-            @Value("${jwt.secret}") String secret,
+            JwtKeyRing jwtKeyRing,
             @Value("${jwt.expiration}") long accessTokenExpiration,
-            @Value("${jwt.refresh-expiration}") long refreshTokenExpiration) {
-        this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+            @Value("${jwt.refresh-expiration}") long refreshTokenExpiration,
+            VerifiedTokenCache verifiedTokenCache,
+            TokenDenylist tokenDenylist,
+            TokenEpochRegistry tokenEpochRegistry,
+            @Value("${jwt.fast-path.enabled:true}") boolean fastPathEnabled) {
+        this.jwtKeyRing = jwtKeyRing;
+        // 파서는 불변이며 스레드 안전하므로 한 번만 생성하여 재사용 (검증 키는 kid로 선택)
+        this.jwtParser = Jwts.parser()
+                .keyLocator(jwtKeyRing.keyLocator())
+                .build();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenDenylist = tokenDenylist;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.fastPathCodec = fastPathEnabled && !jwtKeyRing.isAsymmetric()
+                ? new Hs256TokenCodec(jwtKeyRing.getSecretKey())
+                : null;
         this.accessTokenExpiration = accessTokenExpiration * 1000; // 초를 밀리초로 변환
         this.refreshTokenExpiration = refreshTokenExpiration * 1000;
     }
 
     // Access Token 생성
-    public String generateAccessToken(User user) {
-        Map<String, Object> claims = new HashMap<>();
+    public String generateAccessToken(TokenSubject user) {
+        String role = user.getRole().name();
+        String provider = user.getProvider() != null ? user.getProvider().getValue() : "REGULAR";
+        String jti = UUID.randomUUID().toString(); // 로그아웃 시 개별 토큰 무효화용 식별자
+
+        // 고정 형태 토큰은 fast path로 발급 (jjwt 경로와 동일한 바이트 출력)
+        if (fastPathCodec != null && user.getId() != null) {
+            long now = System.currentTimeMillis();
+            String token = fastPathCodec.encode(user.getId(), user.getEmail(), role, provider, jti, user.getTokenEpoch(),
+                    now / 1000, (now + accessTokenExpiration) / 1000);
+            if (token != null) {
+                return token;
+            }
+        }
+
+        // 클레임 순서는 fast path와 동일하게 유지
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", role);
+        claims.put("provider", provider);
         claims.put("userId", user.getId());
         claims.put("email", user.getEmail());
-        claims.put("role", user.getRole().name());
-        claims.put("provider", user.getProvider() != null ? user.getProvider().getValue() : "REGULAR");
+        claims.put("jti", jti);
+        claims.put("tokenEpoch", user.getTokenEpoch());
 
         return createToken(claims, user.getEmail(), accessTokenExpiration);
     }
 
-    // Refresh Token 생성
-    public String generateRefreshToken(User user) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", user.getId());
-
-        return createToken(claims, user.getEmail(), refreshTokenExpiration);
-    }
-
     // 토큰 생성 공통 메서드
     private String createToken(Map<String, Object> claims, String subject, long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+                .expiration(expiryDate);
+
+        return jwtKeyRing.sign(builder).compact();
+    }
+
+    // 토큰 검증 - 서명 검증과 파싱을 한 번만 수행하고 결과를 불변 객체로 반환
+    // (동일 토큰의 재검증은 VerifiedTokenCache에서 처리, 무효화 여부는 캐시와 무관하게 매번 확인)
+    public VerifiedToken verify(String token) {
+        VerifiedToken verifiedToken = verifiedTokenCache.get(token, this::verifyUncached);
+        if (tokenDenylist.isRevoked(verifiedToken.jti())) {
+            throw new RevokedTokenException("JWT token has been revoked");
+        }
+        if (tokenEpochRegistry.isStale(verifiedToken.userId(), verifiedToken.tokenEpoch())) {
+            throw new RevokedTokenException("JWT token was issued before the user's tokens were revoked");
+        }
+        return verifiedToken;
+    }
+
+    // 캐시를 거치지 않는 검증 - fast path로 처리할 수 없는 토큰은 jjwt로 검증
+    private VerifiedToken verifyUncached(String token) {
+        if (fastPathCodec != null) {
+            VerifiedToken verifiedToken = fastPathCodec.verify(token);
+            if (verifiedToken != null) {
+                return verifiedToken;
+            }
+        }
+        return VerifiedToken.from(getAllClaimsFromToken(token));
     }
 
     // 토큰에서 사용자 이메일 추출
@@ -75,6 +126,11 @@ public class JwtService {
         return getClaimFromToken(token, claims -> claims.get("userId", Long.class));
     }
 
+    // 기존 JWT Refresh Token에서 토큰 계열 ID 추출 (서명/만료 검증 포함)
+    public String getFamilyIdFromToken(String token) {
+        return getClaimFromToken(token, claims -> claims.get("fid", String.class));
+    }
+
     // 토큰에서 만료 시간 추출
     public Date getExpirationFromToken(String token) {
         return getClaimFromToken(token, Claims::getExpiration);
@@ -89,9 +145,7 @@ public class JwtService {
     // 토큰에서 모든 클레임 추출
     private Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -115,8 +169,8 @@ public class JwtService {
     // 토큰 유효성 검증
     public boolean isTokenValid(String token, String email) {
         try {
-            final String tokenEmail = getEmailFromToken(token);
-            return (tokenEmail.equals(email) && !isTokenExpired(token));
+            // 만료된 토큰은 verify 단계에서 ExpiredJwtException으로 거부됨
+            return verify(token).email().equals(email);
         } catch (Exception e) {
             log.warn("Token validation failed: {}", e.getMessage());
             return false;
@@ -133,6 +187,16 @@ public class JwtService {
         }
     }
 
+    // Access Token 유효 시간 (초)
+    public long getAccessTokenExpiresIn() {
+        return accessTokenExpiration / 1000;
+    }
+
+    // Refresh Token 유효 시간 (초)
+    public long getRefreshTokenExpiresIn() {
+        return refreshTokenExpiration / 1000;
+    }
+
     // Refresh Token 만료 시간 계산 (LocalDateTime)
     public LocalDateTime calculateRefreshTokenExpiryDate() {
         return LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000);
@@ -0,0 +1,55 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.Role;
+import com.example.authapp.entity.User;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 검증된 Access Token 클레임만으로 만든 인증 주체 (claims 인증 모드)
+ * - 요청마다 User 엔티티를 조회하지 않고 userId, email, role로 인증 처리
+ * - 핸들러가 User 엔티티를 필요로 할 때만 getUser()에서 한 번 조회 (@CurrentUser 참고)
+ */
+@Getter
+public class JwtUserPrincipal implements AuthenticatedPrincipal {
+
+    private final Long userId;
+    private final String email;
+    private final Role role;
+    private final String provider;
+
+    @Getter(AccessLevel.NONE)
+    private final Function<Long, User> userLoader;
+    @Getter(AccessLevel.NONE)
+    private User user; // 최초 getUser() 호출 시 로드 (요청 단위 객체이므로 동기화 불필요)
+
+    public JwtUserPrincipal(VerifiedToken token, Function<Long, User> userLoader) {
+        this.userId = token.userId();
+        this.email = token.email();
+        this.role = Role.valueOf(token.role());
+        this.provider = token.provider();
+        this.userLoader = userLoader;
+    }
+
+    // 사용자 엔티티 반환 (필요한 시점에만 조회)
+    public User getUser() {
+        if (user == null) {
+            user = userLoader.apply(userId);
+        }
+        return user;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.getAuthorities();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
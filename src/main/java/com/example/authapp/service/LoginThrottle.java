@@ -0,0 +1,165 @@
+package com.example.authapp.service;
+
+import com.example.authapp.exception.LoginThrottledException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그인 시도 제한 (인스턴스 단위 토큰 버킷)
+ * - 클라이언트 IP별, 로그인 ID별 버킷을 각각 적용하며 한도를 넘은 요청은 사용자 조회/비밀번호 해싱 전에 거절
+ * - IP 버킷은 시도마다, 로그인 ID 버킷은 실패한 시도에만 차감 (이메일만 아는 제3자가 정상 로그인을 막지 못하도록)
+ * - 이메일/아이디 사용 가능 여부 확인도 같은 IP 버킷을 차감 (가입 여부 대량 조회 방지)
+ * - 클라이언트 IP는 getRemoteAddr() 기준이므로 프록시 뒤에서는 server.forward-headers-strategy 설정 필요
+ * - 버킷은 CAS 한 번으로 갱신되는 lock-free 구현, 버킷 맵은 최대 크기와 유휴 만료로 제한 (Caffeine)
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final boolean enabled;
+    private final Limiter byIp;
+    private final Limiter byLoginId;
+
+    public LoginThrottle(
+            @Value("${app.login-throttle.enabled:true}") boolean enabled,
+            @Value("${app.login-throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${app.login-throttle.ip.refill-period:1m}") Duration ipRefillPeriod,
+            @Value("${app.login-throttle.login-id.capacity:5}") int loginIdCapacity,
+            @Value("${app.login-throttle.login-id.refill-period:1m}") Duration loginIdRefillPeriod,
+            @Value("${app.login-throttle.max-keys:100000}") long maxKeys,
+            @Value("${app.login-throttle.idle-timeout:10m}") Duration idleTimeout,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.byIp = new Limiter("ip", ipCapacity, ipRefillPeriod, maxKeys, idleTimeout, meterRegistry);
+        this.byLoginId = new Limiter("login-id", loginIdCapacity, loginIdRefillPeriod, maxKeys, idleTimeout, meterRegistry);
+        log.info("Login throttle enabled: {} - ip: {}/{}, login-id: {}/{}",
+                enabled, ipCapacity, ipRefillPeriod, loginIdCapacity, loginIdRefillPeriod);
+    }
+
+    // 로그인 시도 전 확인 - IP 버킷은 1회 차감, 로그인 ID 버킷은 남은 한도만 확인 (차감은 실패 시)
+    public void check(String clientIp, String loginId) {
+        if (!enabled) {
+            return;
+        }
+        if (clientIp != null) {
+            byIp.acquire(clientIp);
+        }
+        if (loginId != null) {
+            byLoginId.ensureAvailable(normalize(loginId));
+        }
+    }
+
+    // 로그인 외 계정 존재 여부가 드러나는 요청(이메일/아이디 사용 가능 여부 확인) - 로그인과 같은 IP 버킷에서 1회 차감
+    public void checkIp(String clientIp) {
+        if (enabled && clientIp != null) {
+            byIp.acquire(clientIp);
+        }
+    }
+
+    // 로그인 실패 1회 차감
+    public void recordFailure(String loginId) {
+        if (enabled && loginId != null) {
+            byLoginId.consume(normalize(loginId));
+        }
+    }
+
+    private static String normalize(String loginId) {
+        return loginId.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 키별 버킷 묶음과 거절 지표
+    private static final class Limiter {
+
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejected;
+
+        Limiter(String scope, int capacity, Duration refillPeriod, long maxKeys, Duration idleTimeout,
+                MeterRegistry meterRegistry) {
+            this.emissionIntervalNanos = refillPeriod.toNanos() / capacity;
+            this.burstToleranceNanos = emissionIntervalNanos * capacity;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idleTimeout)
+                    .build();
+            this.rejected = Counter.builder("auth.login.throttled")
+                    .description("Login attempts rejected by the rate limiter before credential checks")
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+            Gauge.builder("auth.login.throttle.keys", buckets, Cache::estimatedSize)
+                    .description("Login throttle buckets currently tracked")
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+        }
+
+        void acquire(String key) {
+            rejectIfWaiting(buckets.get(key, k -> new TokenBucket())
+                    .tryAcquire(System.nanoTime(), emissionIntervalNanos, burstToleranceNanos));
+        }
+
+        // 차감 없이 남은 토큰만 확인 (버킷이 없으면 가득 찬 상태)
+        void ensureAvailable(String key) {
+            TokenBucket bucket = buckets.getIfPresent(key);
+            if (bucket != null) {
+                rejectIfWaiting(bucket.waitNanos(System.nanoTime(), emissionIntervalNanos, burstToleranceNanos));
+            }
+        }
+
+        // 거절 없이 1회 차감 (한도를 넘으면 다음 ensureAvailable에서 거절)
+        void consume(String key) {
+            buckets.get(key, k -> new TokenBucket())
+                    .tryAcquire(System.nanoTime(), emissionIntervalNanos, burstToleranceNanos);
+        }
+
+        private void rejectIfWaiting(long waitNanos) {
+            if (waitNanos > 0) {
+                rejected.increment();
+                throw new LoginThrottledException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.",
+                        Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+            }
+        }
+    }
+
+    // 토큰 버킷 (GCRA) - 다음 토큰이 생기는 이론상 시각(tat) 하나로 남은 토큰 수를 표현
+    private static final class TokenBucket {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        // 토큰이 있으면 차감 후 0, 없으면 다음 토큰까지 남은 시간(ns)
+        long tryAcquire(long now, long emissionInterval, long burstTolerance) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = next(tat, now, emissionInterval);
+                long wait = next - now - burstTolerance;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        // 차감 없이 다음 토큰까지 남은 시간(ns), 토큰이 있으면 0 이하
+        long waitNanos(long now, long emissionInterval, long burstTolerance) {
+            return next(theoreticalArrival.get(), now, emissionInterval) - now - burstTolerance;
+        }
+
+        private static long next(long tat, long now, long emissionInterval) {
+            return (tat == Long.MIN_VALUE || tat - now < 0 ? now : tat) + emissionInterval;
+        }
+    }
+}
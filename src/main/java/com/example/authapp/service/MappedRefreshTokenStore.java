@@ -0,0 +1,863 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.Provider;
+import com.example.authapp.entity.Role;
+import com.example.authapp.entity.TokenSubject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 맵 파일 기반 세션 저장소 (jwt.session.store=mapped)
+ * - 세션 레코드는 고정 크기(512바이트)로 sessions.dat에 메모리 맵되어 Java 힙 밖에 보관
+ * - 세션 id = (세대 << 32) | 슬롯 번호 - 토큰 재발급 시 MySQL 조회 없이 슬롯을 바로 읽고 토큰 해시를 제자리에서 비교
+ * - 레코드에 토큰 소유자 정보(이메일, 권한, 제공자, epoch)도 보관하여 재발급 시 사용자 조회와 JPA 트랜잭션 없이 Access Token 발급
+ * - 모든 변경은 sessions.wal에 레코드 이미지를 먼저 기록한 뒤 반영하고, 체크포인트에서 맵 파일을 디스크에 동기화한 후 WAL을 비움
+ * - 시작 시 WAL을 재생하여 마지막 체크포인트 이후의 변경을 복구하고, 사용자별 인덱스(오프힙)와 빈 슬롯 목록을 다시 구성
+ * - 교체된 토큰 해시는 슬롯별로 최근 31개까지 sessions.history에 보관 (재사용 감지용, WAL 대상 아님 - 비정상 종료 시 마지막 체크포인트 이후 기록은 유실될 수 있음)
+ * - 노드 로컬 저장소이므로 단일 인스턴스 또는 세션 고정(sticky) 라우팅 환경에서만 사용
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.session.store", havingValue = "mapped")
+public class MappedRefreshTokenStore implements RefreshTokenStore {
+
+    private static final int RECORD_SIZE = 512;
+    private static final int CHUNK_SIZE = 1 << 30; // MappedByteBuffer 하나의 최대 크기(2GB) 이하로 분할
+    private static final int RECORDS_PER_CHUNK = CHUNK_SIZE / RECORD_SIZE;
+    private static final int MAX_CAPACITY = 1 << 25; // 사용자 인덱스(슬롯 수 x 2 x 16바이트)가 ByteBuffer 한도를 넘지 않는 범위
+    private static final int NONE = -1;
+
+    // 레코드 레이아웃 (바이트 오프셋)
+    private static final int STATE = 0;          // int: 0 빈 슬롯, 1 사용 중
+    private static final int GENERATION = 4;     // int: 슬롯 재사용 세대 (세션 id에 포함되어 삭제된 세션의 토큰을 거부)
+    private static final int USER_ID = 8;        // long
+    private static final int TOKEN_HASH = 16;    // 32 bytes
+    private static final int PREVIOUS_HASH = 48; // 32 bytes (모두 0이면 없음)
+    private static final int EXPIRES_AT = 80;    // long: epoch millis
+    private static final int CREATED_AT = 88;    // long: epoch millis
+    private static final int LAST_USED_AT = 96;  // long: epoch millis
+    private static final int NEXT = 104;         // int: 같은 사용자의 다음 슬롯 또는 다음 빈 슬롯 (시작 시 재구성되므로 WAL 대상 아님)
+    private static final int OWNER_ROLE = 108;   // byte: Role 순서 + 1 (0이면 소유자 정보 없음)
+    private static final int OWNER_PROVIDER = 109; // byte: Provider 순서 + 1 (0이면 일반 가입)
+    private static final int FAMILY_ID = 112;    // 16 bytes: UUID
+    private static final int DEVICE_ID = 128;    // short 길이 + UTF-8 최대 126 bytes
+    private static final int USER_AGENT = 256;   // short 길이 + UTF-8 최대 126 bytes (길이 -1이면 null)
+    private static final int OWNER_EPOCH = 384;  // int: 소유자 정보를 기록할 때의 tokenEpoch
+    private static final int OWNER_EMAIL = 388;  // short 길이 + UTF-8 최대 122 bytes (넘으면 소유자 정보를 기록하지 않음)
+    private static final int DEVICE_ID_MAX_BYTES = 126;
+    private static final int USER_AGENT_MAX_BYTES = 126;
+    private static final int OWNER_EMAIL_MAX_BYTES = 122;
+    private static final int HASH_LENGTH = 32;
+    private static final int USED = 1;
+    private static final int FREE = 0;
+
+    // WAL 항목: int 슬롯 + 레코드 이미지 + int CRC32C (고정 크기)
+    private static final int WAL_IMAGE = 4;
+    private static final int WAL_CRC = WAL_IMAGE + RECORD_SIZE;
+    private static final int WAL_ENTRY_SIZE = WAL_CRC + 4;
+
+    // 사용자 인덱스 항목: long userId (0이면 빈 항목) + int 첫 슬롯 + int 미사용
+    private static final int INDEX_ENTRY_SIZE = 16;
+
+    // 교체 기록 (sessions.history, 슬롯별 고정 크기): 계열 UUID + int 교체 횟수 + 최근 교체된 해시 (순환)
+    // 계열이 다르면 빈 기록으로 취급 (같은 기기 재로그인이나 슬롯 재사용 시 별도 초기화 불필요)
+    private static final int HISTORY_RECORD_SIZE = 1024;
+    private static final int HISTORY_RECORDS_PER_CHUNK = CHUNK_SIZE / HISTORY_RECORD_SIZE;
+    private static final int HISTORY_FAMILY_ID = 0;  // 16 bytes
+    private static final int HISTORY_COUNT = 16;     // int
+    private static final int HISTORY_HASHES = 32;
+    private static final int HISTORY_LENGTH = (HISTORY_RECORD_SIZE - HISTORY_HASHES) / HASH_LENGTH;
+
+    private static final Role[] ROLES = Role.values();
+    private static final Provider[] PROVIDERS = Provider.values();
+
+    private final int capacity;
+    private final boolean fsyncWrites;
+    private final long walMaxSize;
+    private final int sweepBatchSize;
+    private final FileChannel recordsChannel;
+    private final FileChannel walChannel;
+    private final FileChannel historyChannel;
+    private final MappedByteBuffer[] chunks;
+    private final MappedByteBuffer[] historyChunks;
+    private final ByteBuffer userIndex;
+    private final int indexMask;
+    private final ByteBuffer walBuffer = ByteBuffer.allocateDirect(WAL_ENTRY_SIZE);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Counter purgedCounter;
+    private final Timer purgeTimer;
+
+    // 쓰기 잠금 안에서만 변경
+    private int freeHead = NONE;
+    private int size;
+    private long walSize;
+    private boolean closed; // 종료 후 예약 작업(정리/체크포인트)이 닫힌 채널에 쓰지 않도록
+
+    public MappedRefreshTokenStore(
+            @Value("${jwt.session.mapped.dir:./data/refresh-tokens}") String directory,
+            @Value("${jwt.session.mapped.capacity:1048576}") int capacity,
+            @Value("${jwt.session.mapped.fsync-writes:false}") boolean fsyncWrites,
+            @Value("${jwt.session.mapped.wal-max-size:67108864}") long walMaxSize,
+            @Value("${jwt.session.purge.batch-size:5000}") int sweepBatchSize,
+            MeterRegistry meterRegistry) throws IOException {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        this.recordsChannel = FileChannel.open(dir.resolve("sessions.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.walChannel = FileChannel.open(dir.resolve("sessions.wal"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.historyChannel = FileChannel.open(dir.resolve("sessions.history"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // 기존 파일이 더 크면 기존 크기 유지 (슬롯 번호가 세션 id에 포함되므로 축소하지 않음)
+        long existing = recordsChannel.size() / RECORD_SIZE;
+        if (capacity <= 0 || Math.max(capacity, existing) > MAX_CAPACITY) {
+            throw new IllegalStateException("jwt.session.mapped.capacity는 1 이상 " + MAX_CAPACITY + " 이하여야 합니다.");
+        }
+        this.capacity = (int) Math.max(capacity, existing);
+        this.fsyncWrites = fsyncWrites;
+        this.walMaxSize = walMaxSize;
+        this.sweepBatchSize = sweepBatchSize;
+
+        int chunkCount = (this.capacity + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK;
+        this.chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            int records = Math.min(RECORDS_PER_CHUNK, this.capacity - i * RECORDS_PER_CHUNK);
+            chunks[i] = recordsChannel.map(FileChannel.MapMode.READ_WRITE, (long) i * CHUNK_SIZE, (long) records * RECORD_SIZE);
+        }
+        int historyChunkCount = (this.capacity + HISTORY_RECORDS_PER_CHUNK - 1) / HISTORY_RECORDS_PER_CHUNK;
+        this.historyChunks = new MappedByteBuffer[historyChunkCount];
+        for (int i = 0; i < historyChunkCount; i++) {
+            int records = Math.min(HISTORY_RECORDS_PER_CHUNK, this.capacity - i * HISTORY_RECORDS_PER_CHUNK);
+            historyChunks[i] = historyChannel.map(FileChannel.MapMode.READ_WRITE,
+                    (long) i * CHUNK_SIZE, (long) records * HISTORY_RECORD_SIZE);
+        }
+
+        int indexSize = Integer.highestOneBit(this.capacity * 2 - 1) << 1;
+        this.userIndex = ByteBuffer.allocateDirect(indexSize * INDEX_ENTRY_SIZE);
+        this.indexMask = indexSize - 1;
+
+        int replayed = replayWal();
+        rebuildIndex();
+
+        this.purgedCounter = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh tokens removed by the purge job")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("refresh_tokens.purge")
+                .description("Duration of the expired refresh token purge job")
+                .register(meterRegistry);
+        Gauge.builder("refresh_tokens.mapped.sessions", this, store -> store.size)
+                .description("Sessions held in the memory-mapped refresh token store")
+                .register(meterRegistry);
+
+        log.info("Mapped refresh token store opened - dir: {}, capacity: {}, sessions: {}, replayed WAL entries: {}",
+                dir, this.capacity, size, replayed);
+    }
+
+    @Override
+    public long upsert(TokenSubject owner, String deviceId, String userAgent, byte[] tokenHash, String familyId,
+                       LocalDateTime expiresAt, LocalDateTime now) {
+        long userId = owner.getId();
+        byte[] device = encode(deviceId, DEVICE_ID_MAX_BYTES);
+        byte[] agent = encode(userAgent, USER_AGENT_MAX_BYTES);
+        UUID family = UUID.fromString(familyId);
+
+        lock.writeLock().lock();
+        try {
+            int slot = findDevice(userId, device);
+            boolean added = slot == NONE;
+            if (added) {
+                slot = allocate();
+            }
+
+            ByteBuffer image = edit(slot);
+            int generation = image.getInt(WAL_IMAGE + GENERATION);
+            if (added) {
+                generation = generation == Integer.MAX_VALUE ? 1 : generation + 1;
+            }
+            image.putInt(WAL_IMAGE + STATE, USED);
+            image.putInt(WAL_IMAGE + GENERATION, generation);
+            image.putLong(WAL_IMAGE + USER_ID, userId);
+            image.put(WAL_IMAGE + TOKEN_HASH, tokenHash);
+            image.put(WAL_IMAGE + PREVIOUS_HASH, new byte[HASH_LENGTH]);
+            image.putLong(WAL_IMAGE + EXPIRES_AT, toMillis(expiresAt));
+            image.putLong(WAL_IMAGE + CREATED_AT, toMillis(now));
+            image.putLong(WAL_IMAGE + LAST_USED_AT, toMillis(now));
+            image.putLong(WAL_IMAGE + FAMILY_ID, family.getMostSignificantBits());
+            image.putLong(WAL_IMAGE + FAMILY_ID + 8, family.getLeastSignificantBits());
+            putString(image, WAL_IMAGE + DEVICE_ID, device);
+            putString(image, WAL_IMAGE + USER_AGENT, agent);
+            putOwner(image, owner);
+
+            try {
+                commit(slot);
+            } catch (RuntimeException e) {
+                if (added) {
+                    release(slot);
+                }
+                throw e;
+            }
+            if (added) {
+                setNext(slot, userHead(userId));
+                setUserHead(userId, slot);
+                size++;
+            }
+            return ((long) generation << 32) | slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<RefreshSession> findById(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            return slot == NONE ? Optional.empty() : Optional.of(readSession(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean rotate(long id, byte[] currentHash, byte[] newHash, LocalDateTime expiresAt, LocalDateTime now,
+                          TokenSubject owner) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot == NONE
+                    || !MessageDigest.isEqual(readHash(slot, TOKEN_HASH), currentHash)
+                    || chunk(slot).getLong(offset(slot) + EXPIRES_AT) <= toMillis(now)) {
+                return false;
+            }
+
+            ByteBuffer image = edit(slot);
+            image.put(WAL_IMAGE + TOKEN_HASH, newHash);
+            image.put(WAL_IMAGE + PREVIOUS_HASH, currentHash);
+            image.putLong(WAL_IMAGE + EXPIRES_AT, toMillis(expiresAt));
+            image.putLong(WAL_IMAGE + LAST_USED_AT, toMillis(now));
+            if (owner != null) {
+                putOwner(image, owner);
+            }
+            commit(slot);
+            recordRotation(slot, currentHash);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isRotatedToken(long id, String familyId, byte[] tokenHash) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot == NONE || !isCurrentFamilyHistory(slot)) {
+                return false;
+            }
+            ByteBuffer history = historyChunk(slot);
+            int offset = historyOffset(slot);
+            int count = Math.min(history.getInt(offset + HISTORY_COUNT), HISTORY_LENGTH);
+            byte[] hash = new byte[HASH_LENGTH];
+            boolean found = false;
+            for (int i = 0; i < count; i++) {
+                history.get(offset + HISTORY_HASHES + i * HASH_LENGTH, hash);
+                found |= MessageDigest.isEqual(hash, tokenHash); // 상수 시간 비교 (일치해도 끝까지 확인)
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 트랜잭션과 무관한 노드 로컬 저장소
+    @Override
+    public boolean requiresTransaction() {
+        return false;
+    }
+
+    @Override
+    public List<RefreshSession> findActiveByUserId(long userId, LocalDateTime now) {
+        long nowMillis = toMillis(now);
+        List<RefreshSession> sessions = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int slot = userHead(userId); slot != NONE; slot = next(slot)) {
+                if (chunk(slot).getLong(offset(slot) + EXPIRES_AT) > nowMillis) {
+                    sessions.add(readSession(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        sessions.sort(Comparator.comparing(RefreshSession::lastUsedAt).reversed());
+        return sessions;
+    }
+
+    @Override
+    public long countByUserId(long userId) {
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            for (int slot = userHead(userId); slot != NONE; slot = next(slot)) {
+                count++;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByUserId(long userId) {
+        lock.readLock().lock();
+        try {
+            return userHead(userId) != NONE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int deleteOldestByUserId(long userId, int keep) {
+        lock.writeLock().lock();
+        try {
+            List<Integer> slots = userSlots(userId);
+            if (slots.size() <= keep) {
+                return 0;
+            }
+            slots.sort(Comparator.comparingLong((Integer slot) -> chunk(slot).getLong(offset(slot) + LAST_USED_AT)).reversed());
+            for (int slot : slots.subList(keep, slots.size())) {
+                free(slot);
+            }
+            return slots.size() - keep;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot == NONE) {
+                return false;
+            }
+            free(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteByIdAndUserId(long id, long userId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot == NONE || chunk(slot).getLong(offset(slot) + USER_ID) != userId) {
+                return false;
+            }
+            free(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteByUserId(long userId) {
+        lock.writeLock().lock();
+        try {
+            for (int slot : userSlots(userId)) {
+                free(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 만료된 세션 정리 - batch-size 슬롯 단위로 잠금을 나누어 조회/재발급 지연을 제한
+    @Scheduled(fixedDelayString = "${jwt.session.purge.interval:3600000}",
+               initialDelayString = "${jwt.session.purge.initial-delay:60000}")
+    public void purgeExpired() {
+        purgeTimer.record(() -> {
+            long nowMillis = System.currentTimeMillis();
+            long total = 0;
+            for (int start = 0; start < capacity; start += sweepBatchSize) {
+                int end = Math.min(capacity, start + sweepBatchSize);
+                lock.writeLock().lock();
+                try {
+                    if (closed) {
+                        break;
+                    }
+                    for (int slot = start; slot < end; slot++) {
+                        ByteBuffer chunk = chunk(slot);
+                        int offset = offset(slot);
+                        if (chunk.getInt(offset + STATE) == USED && chunk.getLong(offset + EXPIRES_AT) < nowMillis) {
+                            free(slot);
+                            total++;
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            purgedCounter.increment(total);
+            if (total > 0) {
+                log.info("Deleted {} expired refresh tokens", total);
+            }
+        });
+    }
+
+    // 체크포인트 - 맵 파일을 디스크에 동기화한 뒤 WAL 비우기
+    @Scheduled(fixedDelayString = "${jwt.session.mapped.checkpoint-interval:60000}")
+    public void checkpoint() {
+        lock.writeLock().lock();
+        try {
+            if (!closed && walSize > 0) {
+                flush();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flush();
+            walChannel.close();
+            recordsChannel.close();
+            historyChannel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 마지막 체크포인트 이후의 변경 복구 - 마지막 항목이 잘렸거나 CRC가 맞지 않으면 그 앞까지만 반영
+    private int replayWal() throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(WAL_ENTRY_SIZE);
+        CRC32C crc = new CRC32C();
+        long position = 0;
+        int replayed = 0;
+        while (true) {
+            entry.clear();
+            while (entry.hasRemaining() && walChannel.read(entry, position + entry.position()) > 0) {
+                // 항목 하나를 모두 읽을 때까지 반복
+            }
+            if (entry.hasRemaining()) {
+                break;
+            }
+            crc.reset();
+            crc.update(entry.array(), 0, WAL_CRC);
+            int slot = entry.getInt(0);
+            if ((int) crc.getValue() != entry.getInt(WAL_CRC) || slot < 0 || slot >= capacity) {
+                log.warn("Stopped WAL replay at invalid entry (offset {})", position);
+                break;
+            }
+            chunk(slot).put(offset(slot), entry, WAL_IMAGE, RECORD_SIZE);
+            position += WAL_ENTRY_SIZE;
+            replayed++;
+        }
+        flush();
+        return replayed;
+    }
+
+    // 사용자 인덱스와 빈 슬롯 목록 재구성 (뒤에서부터 앞에 연결하여 낮은 슬롯부터 사용)
+    private void rebuildIndex() {
+        for (int i = 0; i < userIndex.capacity(); i += INDEX_ENTRY_SIZE) {
+            userIndex.putLong(i, 0L);
+        }
+        freeHead = NONE;
+        size = 0;
+        for (int slot = capacity - 1; slot >= 0; slot--) {
+            ByteBuffer chunk = chunk(slot);
+            int offset = offset(slot);
+            if (chunk.getInt(offset + STATE) == USED) {
+                long userId = chunk.getLong(offset + USER_ID);
+                setNext(slot, userHead(userId));
+                setUserHead(userId, slot);
+                size++;
+            } else {
+                setNext(slot, freeHead);
+                freeHead = slot;
+            }
+        }
+    }
+
+    // 세션 id 검증 - 사용 중이고 세대가 일치하는 슬롯 번호, 아니면 NONE
+    private int slotOf(long id) {
+        long slot = id & 0xFFFFFFFFL;
+        int generation = (int) (id >>> 32);
+        if (id <= 0 || generation <= 0 || slot >= capacity) {
+            return NONE;
+        }
+        ByteBuffer chunk = chunk((int) slot);
+        int offset = offset((int) slot);
+        if (chunk.getInt(offset + STATE) != USED || chunk.getInt(offset + GENERATION) != generation) {
+            return NONE;
+        }
+        return (int) slot;
+    }
+
+    private RefreshSession readSession(int slot) {
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+        byte[] previousHash = readHash(slot, PREVIOUS_HASH);
+        int generation = chunk.getInt(offset + GENERATION);
+        long userId = chunk.getLong(offset + USER_ID);
+        return new RefreshSession(
+                ((long) generation << 32) | slot,
+                userId,
+                getString(chunk, offset + DEVICE_ID),
+                getString(chunk, offset + USER_AGENT),
+                new UUID(chunk.getLong(offset + FAMILY_ID), chunk.getLong(offset + FAMILY_ID + 8)).toString(),
+                readHash(slot, TOKEN_HASH),
+                isZero(previousHash) ? null : previousHash,
+                toLocalDateTime(chunk.getLong(offset + EXPIRES_AT)),
+                toLocalDateTime(chunk.getLong(offset + CREATED_AT)),
+                toLocalDateTime(chunk.getLong(offset + LAST_USED_AT)),
+                readOwner(chunk, offset, userId));
+    }
+
+    // 보관된 소유자 정보 - 기록되지 않았거나(이전 형식 레코드, 긴 이메일) 알 수 없는 값이면 null
+    private static SessionOwner readOwner(ByteBuffer chunk, int offset, long userId) {
+        int role = chunk.get(offset + OWNER_ROLE);
+        int provider = chunk.get(offset + OWNER_PROVIDER);
+        if (role <= 0 || role > ROLES.length || provider < 0 || provider > PROVIDERS.length) {
+            return null;
+        }
+        return new SessionOwner(userId, getString(chunk, offset + OWNER_EMAIL), ROLES[role - 1],
+                provider == 0 ? null : PROVIDERS[provider - 1], chunk.getInt(offset + OWNER_EPOCH));
+    }
+
+    // 소유자 정보 기록 - 이메일이 저장 한도를 넘으면 기록하지 않음 (재발급 시 사용자를 조회)
+    private static void putOwner(ByteBuffer image, TokenSubject owner) {
+        byte[] email = owner.getEmail() == null ? null : owner.getEmail().getBytes(StandardCharsets.UTF_8);
+        if (email == null || email.length > OWNER_EMAIL_MAX_BYTES || owner.getRole() == null) {
+            image.put(WAL_IMAGE + OWNER_ROLE, (byte) 0);
+            return;
+        }
+        // 이전 형식 레코드의 긴 사용자 에이전트(최대 254바이트)는 소유자 정보 영역과 겹치므로 잘라서 다시 기록
+        if (image.getShort(WAL_IMAGE + USER_AGENT) > USER_AGENT_MAX_BYTES) {
+            putString(image, WAL_IMAGE + USER_AGENT,
+                    encode(getString(image, WAL_IMAGE + USER_AGENT), USER_AGENT_MAX_BYTES));
+        }
+        image.put(WAL_IMAGE + OWNER_ROLE, (byte) (owner.getRole().ordinal() + 1));
+        image.put(WAL_IMAGE + OWNER_PROVIDER, (byte) (owner.getProvider() == null ? 0 : owner.getProvider().ordinal() + 1));
+        image.putInt(WAL_IMAGE + OWNER_EPOCH, owner.getTokenEpoch());
+        putString(image, WAL_IMAGE + OWNER_EMAIL, email);
+    }
+
+    private byte[] readHash(int slot, int field) {
+        byte[] hash = new byte[HASH_LENGTH];
+        chunk(slot).get(offset(slot) + field, hash);
+        return hash;
+    }
+
+    // 같은 사용자의 같은 기기 세션 찾기
+    private int findDevice(long userId, byte[] device) {
+        for (int slot = userHead(userId); slot != NONE; slot = next(slot)) {
+            ByteBuffer chunk = chunk(slot);
+            int position = offset(slot) + DEVICE_ID;
+            if (chunk.getShort(position) == device.length && equalsAt(chunk, position + 2, device)) {
+                return slot;
+            }
+        }
+        return NONE;
+    }
+
+    private List<Integer> userSlots(long userId) {
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = userHead(userId); slot != NONE; slot = next(slot)) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    private int allocate() {
+        if (freeHead == NONE) {
+            throw new IllegalStateException("세션 저장소 용량이 부족합니다. jwt.session.mapped.capacity를 늘려주세요.");
+        }
+        int slot = freeHead;
+        freeHead = next(slot);
+        return slot;
+    }
+
+    private void release(int slot) {
+        setNext(slot, freeHead);
+        freeHead = slot;
+    }
+
+    // 세션 삭제 - 세대는 유지하여 다음 할당 시 증가 (삭제된 세션 id 재사용 방지)
+    private void free(int slot) {
+        long userId = chunk(slot).getLong(offset(slot) + USER_ID);
+        ByteBuffer image = edit(slot);
+        image.putInt(WAL_IMAGE + STATE, FREE);
+        image.put(WAL_IMAGE + TOKEN_HASH, new byte[HASH_LENGTH]);
+        image.put(WAL_IMAGE + PREVIOUS_HASH, new byte[HASH_LENGTH]);
+        commit(slot);
+
+        int head = userHead(userId);
+        if (head == slot) {
+            setUserHead(userId, next(slot));
+        } else {
+            for (int previous = head; previous != NONE; previous = next(previous)) {
+                if (next(previous) == slot) {
+                    setNext(previous, next(slot));
+                    break;
+                }
+            }
+        }
+        release(slot);
+        size--;
+    }
+
+    // 슬롯의 현재 레코드를 WAL 버퍼로 복사하여 변경 준비
+    private ByteBuffer edit(int slot) {
+        walBuffer.clear();
+        walBuffer.putInt(0, slot);
+        walBuffer.put(WAL_IMAGE, chunk(slot), offset(slot), RECORD_SIZE);
+        return walBuffer;
+    }
+
+    // 변경된 레코드 이미지를 WAL에 기록한 뒤 맵 파일에 반영
+    private void commit(int slot) {
+        CRC32C crc = new CRC32C();
+        crc.update(walBuffer.slice(0, WAL_CRC));
+        walBuffer.putInt(WAL_CRC, (int) crc.getValue());
+        walBuffer.position(0).limit(WAL_ENTRY_SIZE);
+        try {
+            while (walBuffer.hasRemaining()) {
+                walChannel.write(walBuffer, walSize + walBuffer.position());
+            }
+            if (fsyncWrites) {
+                walChannel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("세션 WAL 기록 실패", e);
+        }
+        walSize += WAL_ENTRY_SIZE;
+        chunk(slot).put(offset(slot), walBuffer, WAL_IMAGE, RECORD_SIZE);
+
+        if (walSize >= walMaxSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        for (MappedByteBuffer chunk : historyChunks) {
+            chunk.force();
+        }
+        try {
+            walChannel.truncate(0);
+            walChannel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("세션 WAL 정리 실패", e);
+        }
+        walSize = 0;
+    }
+
+    // 교체된 해시 기록 - 다른 계열의 기록이면 비우고 시작
+    private void recordRotation(int slot, byte[] replacedHash) {
+        ByteBuffer history = historyChunk(slot);
+        int offset = historyOffset(slot);
+        if (!isCurrentFamilyHistory(slot)) {
+            ByteBuffer chunk = chunk(slot);
+            history.putLong(offset + HISTORY_FAMILY_ID, chunk.getLong(offset(slot) + FAMILY_ID));
+            history.putLong(offset + HISTORY_FAMILY_ID + 8, chunk.getLong(offset(slot) + FAMILY_ID + 8));
+            history.putInt(offset + HISTORY_COUNT, 0);
+        }
+        int count = history.getInt(offset + HISTORY_COUNT);
+        history.put(offset + HISTORY_HASHES + (count % HISTORY_LENGTH) * HASH_LENGTH, replacedHash);
+        history.putInt(offset + HISTORY_COUNT, count == Integer.MAX_VALUE ? HISTORY_LENGTH : count + 1);
+    }
+
+    private boolean isCurrentFamilyHistory(int slot) {
+        ByteBuffer chunk = chunk(slot);
+        ByteBuffer history = historyChunk(slot);
+        int offset = historyOffset(slot);
+        return history.getLong(offset + HISTORY_FAMILY_ID) == chunk.getLong(offset(slot) + FAMILY_ID)
+                && history.getLong(offset + HISTORY_FAMILY_ID + 8) == chunk.getLong(offset(slot) + FAMILY_ID + 8);
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot / RECORDS_PER_CHUNK];
+    }
+
+    private ByteBuffer historyChunk(int slot) {
+        return historyChunks[slot / HISTORY_RECORDS_PER_CHUNK];
+    }
+
+    private static int historyOffset(int slot) {
+        return (slot % HISTORY_RECORDS_PER_CHUNK) * HISTORY_RECORD_SIZE;
+    }
+
+    private static int offset(int slot) {
+        return (slot % RECORDS_PER_CHUNK) * RECORD_SIZE;
+    }
+
+    private int next(int slot) {
+        return chunk(slot).getInt(offset(slot) + NEXT);
+    }
+
+    private void setNext(int slot, int next) {
+        chunk(slot).putInt(offset(slot) + NEXT, next);
+    }
+
+    // 사용자 인덱스 - 선형 탐사 해시 테이블 (userId -> 첫 슬롯)
+    private int indexOf(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & indexMask;
+    }
+
+    private int userHead(long userId) {
+        for (int i = indexOf(userId); ; i = (i + 1) & indexMask) {
+            long key = userIndex.getLong(i * INDEX_ENTRY_SIZE);
+            if (key == 0) {
+                return NONE;
+            }
+            if (key == userId) {
+                return userIndex.getInt(i * INDEX_ENTRY_SIZE + 8);
+            }
+        }
+    }
+
+    private void setUserHead(long userId, int head) {
+        int i = indexOf(userId);
+        while (true) {
+            long key = userIndex.getLong(i * INDEX_ENTRY_SIZE);
+            if (key == userId || key == 0) {
+                break;
+            }
+            i = (i + 1) & indexMask;
+        }
+        if (head != NONE) {
+            userIndex.putLong(i * INDEX_ENTRY_SIZE, userId);
+            userIndex.putInt(i * INDEX_ENTRY_SIZE + 8, head);
+        } else if (userIndex.getLong(i * INDEX_ENTRY_SIZE) == userId) {
+            removeIndexEntry(i);
+        }
+    }
+
+    // 선형 탐사 삭제 - 뒤따르는 항목을 당겨 탐사 경로 유지 (삭제 표시 없이)
+    private void removeIndexEntry(int i) {
+        int j = i;
+        while (true) {
+            j = (j + 1) & indexMask;
+            long key = userIndex.getLong(j * INDEX_ENTRY_SIZE);
+            if (key == 0) {
+                break;
+            }
+            int home = indexOf(key);
+            boolean staysInPlace = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!staysInPlace) {
+                userIndex.putLong(i * INDEX_ENTRY_SIZE, key);
+                userIndex.putInt(i * INDEX_ENTRY_SIZE + 8, userIndex.getInt(j * INDEX_ENTRY_SIZE + 8));
+                i = j;
+            }
+        }
+        userIndex.putLong(i * INDEX_ENTRY_SIZE, 0L);
+    }
+
+    private static boolean equalsAt(ByteBuffer buffer, int position, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(position + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 최대 길이를 넘으면 문자 경계에서 잘라 UTF-8로 인코딩
+    private static byte[] encode(String value, int maxBytes) {
+        if (value == null) {
+            return null;
+        }
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer out = ByteBuffer.allocate(maxBytes);
+        encoder.encode(CharBuffer.wrap(value), out, true);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    private static void putString(ByteBuffer buffer, int position, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort(position, (short) -1);
+            return;
+        }
+        buffer.putShort(position, (short) bytes.length);
+        buffer.put(position + 2, bytes);
+    }
+
+    private static String getString(ByteBuffer buffer, int position) {
+        int length = buffer.getShort(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.authapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 불투명(opaque) Refresh Token - "{id}.{secret}" 형식
+ * - id: refresh_tokens 기본키 (조회는 기본키로만 수행)
+ * - secret: 256비트 난수 (Base64URL), DB에는 SHA-256 해시만 BINARY(32)로 저장
+ */
+record OpaqueRefreshToken(long id, byte[] secret) {
+
+    private static final int SECRET_LENGTH = 32;
+    private static final int ENCODED_SECRET_LENGTH = 43; // 32바이트의 패딩 없는 Base64URL 길이
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    static byte[] newSecret() {
+        byte[] secret = new byte[SECRET_LENGTH];
+        RANDOM.nextBytes(secret);
+        return secret;
+    }
+
+    static String format(long id, byte[] secret) {
+        return id + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    // "{id}.{secret}" 형식이 아니면 null (기존 JWT Refresh Token 포함)
+    static OpaqueRefreshToken parse(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot > 19 || token.length() - dot - 1 != ENCODED_SECRET_LENGTH) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(token, 0, dot, 10);
+            byte[] secret = Base64.getUrlDecoder().decode(token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII));
+            return id > 0 ? new OpaqueRefreshToken(id, secret) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static byte[] hash(byte[] secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    byte[] hash() {
+        return hash(secret);
+    }
+
+    // 저장된 해시와 상수 시간 비교
+    boolean matches(byte[] storedHash) {
+        return storedHash != null && MessageDigest.isEqual(hash(), storedHash);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.authapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 로그인/로그아웃 접속 상태(last_login_at, is_online) 쓰기 지연 버퍼
+ * - 요청 트랜잭션에서 users 행을 갱신하지 않고 메모리에 기록한 뒤 flush-interval마다 JDBC 배치 UPDATE로 반영
+ * - 같은 사용자의 변경은 하나로 병합 (마지막 로그인 시각과 마지막 온라인 상태만 남음)
+ * - 유실 범위: 정상 종료 시에는 종료 직전에 모두 반영되어 유실 없음
+ *   비정상 종료 시에는 마지막 반영 이후의 변경만 유실 (최대 flush-interval 또는 max-pending건 분량)
+ * - 반영 실패 시 버퍼에 다시 넣고 다음 주기에 재시도 (그 사이 들어온 더 최신 변경이 우선)
+ * - 조회 화면의 접속 상태는 최대 flush-interval만큼 늦게 보일 수 있음
+ * - 엔티티를 거치지 않는 쓰기이므로 반영한 사용자는 인증 주체 캐시에서 제거
+ */
+@Slf4j
+@Component
+public class PresenceBuffer {
+
+    private static final String UPDATE_LOGIN_SQL = "UPDATE users SET last_login_at = ?, is_online = ? WHERE id = ?";
+    private static final String UPDATE_ONLINE_SQL = "UPDATE users SET is_online = ? WHERE id = ?";
+
+    // 사용자별 반영 대기 상태 - lastLoginAt이 null이면 온라인 상태만 변경
+    record Presence(LocalDateTime lastLoginAt, boolean online) {
+
+        // 이전 상태 뒤에 새 변경을 덧붙인 결과
+        Presence then(Presence next) {
+            return new Presence(next.lastLoginAt != null ? next.lastLoginAt : lastLoginAt, next.online);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserPrincipalCache userPrincipalCache;
+    private final int maxPending;
+    private final Map<Long, Presence> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+
+    public PresenceBuffer(
+            JdbcTemplate jdbcTemplate,
+            UserPrincipalCache userPrincipalCache,
+            @Value("${app.presence.max-pending:10000}") int maxPending,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userPrincipalCache = userPrincipalCache;
+        this.maxPending = maxPending;
+        Gauge.builder("auth.presence.pending", pending, Map::size)
+                .description("Users with presence updates waiting to be written")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("auth.presence.flushed")
+                .description("Presence rows written by the write-behind buffer")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("auth.presence.flush.failures")
+                .description("Presence flushes that failed and were re-queued")
+                .register(meterRegistry);
+    }
+
+    // 로그인 - 마지막 로그인 시각 갱신 및 온라인
+    public void recordLogin(Long userId) {
+        record(userId, new Presence(LocalDateTime.now(), true));
+    }
+
+    // 로그아웃 - 오프라인 (마지막 로그인 시각은 유지)
+    public void recordLogout(Long userId) {
+        record(userId, new Presence(null, false));
+    }
+
+    private void record(Long userId, Presence presence) {
+        pending.merge(userId, presence, Presence::then);
+        // 대기 건수가 한도를 넘으면 주기를 기다리지 않고 반영 (다른 스레드가 반영 중이면 생략)
+        if (pending.size() >= maxPending && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.flush-interval:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 종료 시 남은 변경 반영 (JdbcTemplate/DataSource보다 먼저 종료됨)
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("Presence updates lost on shutdown: {} users", pending.size());
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 키별로 꺼내어 반영 - 꺼낸 이후의 변경은 다음 주기에 반영
+        Map<Long, Presence> drained = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            Presence presence = pending.remove(userId);
+            if (presence != null) {
+                drained.put(userId, presence);
+            }
+        }
+
+        List<Object[]> logins = new ArrayList<>();
+        List<Object[]> onlineChanges = new ArrayList<>();
+        drained.forEach((userId, presence) -> {
+            if (presence.lastLoginAt() != null) {
+                logins.add(new Object[]{Timestamp.valueOf(presence.lastLoginAt()), presence.online(), userId});
+            } else {
+                onlineChanges.add(new Object[]{presence.online(), userId});
+            }
+        });
+
+        try {
+            if (!logins.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_LOGIN_SQL, logins);
+            }
+            if (!onlineChanges.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_ONLINE_SQL, onlineChanges);
+            }
+            userPrincipalCache.invalidateAll(drained.keySet());
+            flushedCounter.increment(drained.size());
+            log.debug("Flushed presence updates for {} users", drained.size());
+        } catch (RuntimeException e) {
+            // 재시도를 위해 되돌림 - 그 사이 기록된 변경이 더 최신이므로 뒤에 덧붙임
+            drained.forEach((userId, presence) -> pending.merge(userId, presence, (newer, older) -> older.then(newer)));
+            failedCounter.increment();
+            log.warn("Presence flush failed, {} users re-queued: {}", drained.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.TokenSubject;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장소에 보관된 로그인 세션 (Refresh Token 원문은 포함하지 않음)
+ * - tokenHash: 현재 토큰 비밀값의 SHA-256 해시
+ * - previousHash: 직전 토큰의 해시 (교체된 토큰의 재사용 감지용, 없으면 null)
+ * - owner: Access Token 발급에 사용할 소유자 정보 (JPA 저장소는 함께 조회된 사용자, 메모리 맵 저장소는 저장된 값, 없으면 null)
+ */
+public record RefreshSession(
+        long id,
+        long userId,
+        String deviceId,
+        String userAgent,
+        String familyId,
+        byte[] tokenHash,
+        byte[] previousHash,
+        LocalDateTime expiresAt,
+        LocalDateTime createdAt,
+        LocalDateTime lastUsedAt,
+        TokenSubject owner) {
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.authapp.service;
+
+import com.example.authapp.dto.response.TokenInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 같은 Refresh Token으로 동시에 들어온 재발급 요청 병합 (single-flight)
+ * - 여러 탭이 같은 토큰으로 동시에 재발급하면 첫 요청만 AuthService.refreshToken을 실행하고 나머지는 그 결과를 공유
+ * - 재발급 직후 grace-period 동안 같은 토큰으로 들어온 요청에는 방금 발급한 Access Token만 반환 (재사용 감지 대상 아님)
+ * - 첫 요청 외에는 새 Refresh Token을 받지 않음 - 교체된 토큰을 재전송한 쪽이 새 Refresh Token을 얻지 못하도록
+ *   (클라이언트는 첫 응답의 Refresh Token을 탭 간 공유 저장소에 보관해야 함)
+ * - grace 결과는 반환 전에 세션이 살아 있는지 확인 - 로그아웃/전체 로그아웃/세션 종료(다른 인스턴스 포함) 후에는 반환하지 않음
+ * - 키: 토큰 원문의 SHA-256 다이제스트, 병합은 인스턴스 단위
+ */
+@Slf4j
+@Component
+public class RefreshTokenCoalescer {
+
+    private final AuthService authService;
+    private final RefreshTokenService refreshTokenService;
+    private final boolean enabled;
+    private final Map<String, CompletableFuture<TokenInfo>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, TokenInfo> recentResults;
+    private final Counter inFlightHits;
+    private final Counter graceHits;
+
+    public RefreshTokenCoalescer(
+            AuthService authService,
+            RefreshTokenService refreshTokenService,
+            @Value("${jwt.refresh.coalescing.enabled:true}") boolean enabled,
+            @Value("${jwt.refresh.coalescing.grace-period:5s}") Duration gracePeriod,
+            @Value("${jwt.refresh.coalescing.max-size:100000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.authService = authService;
+        this.refreshTokenService = refreshTokenService;
+        this.enabled = enabled;
+        this.recentResults = Caffeine.newBuilder()
+                .expireAfterWrite(gracePeriod)
+                .maximumSize(maxSize)
+                .build();
+        this.inFlightHits = Counter.builder("auth.refresh.coalesced")
+                .description("Refresh requests answered by another in-flight or just-finished refresh")
+                .tag("source", "in-flight")
+                .register(meterRegistry);
+        this.graceHits = Counter.builder("auth.refresh.coalesced")
+                .description("Refresh requests answered by another in-flight or just-finished refresh")
+                .tag("source", "grace")
+                .register(meterRegistry);
+        log.info("Refresh coalescing enabled: {}, grace period: {}", enabled, gracePeriod);
+    }
+
+    public TokenInfo refresh(String refreshToken) {
+        if (!enabled) {
+            return authService.refreshToken(refreshToken);
+        }
+
+        String key = digest(refreshToken);
+        TokenInfo recent = findRecent(key);
+        if (recent != null) {
+            graceHits.increment();
+            return accessTokenOnly(recent);
+        }
+
+        CompletableFuture<TokenInfo> future = new CompletableFuture<>();
+        CompletableFuture<TokenInfo> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            inFlightHits.increment();
+            return accessTokenOnly(await(running));
+        }
+
+        try {
+            // 이전 요청이 결과를 저장한 뒤 inFlight에서 빠진 사이에 들어온 경우
+            recent = findRecent(key);
+            if (recent != null) {
+                graceHits.increment();
+                future.complete(recent);
+                return accessTokenOnly(recent);
+            }
+
+            TokenInfo tokenInfo = authService.refreshToken(refreshToken);
+            recentResults.put(key, tokenInfo); // inFlight에서 제거하기 전에 저장
+            future.complete(tokenInfo);
+            return tokenInfo;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // 최근 재발급 결과 - 그 사이 세션이 무효화되었으면 버리고 일반 경로(재사용/무효 토큰 처리)로 진행
+    private TokenInfo findRecent(String key) {
+        TokenInfo recent = recentResults.getIfPresent(key);
+        if (recent != null && refreshTokenService.findByToken(recent.getRefreshToken()).isEmpty()) {
+            recentResults.invalidate(key);
+            return null;
+        }
+        return recent;
+    }
+
+    // 첫 요청이 아닌 쪽에는 Access Token만 전달
+    private static TokenInfo accessTokenOnly(TokenInfo tokenInfo) {
+        return TokenInfo.of(tokenInfo.getAccessToken(), null, tokenInfo.getAccessTokenExpiresIn(), null);
+    }
+
+    // 대기 중인 요청은 첫 요청과 같은 결과 또는 같은 예외를 받음
+    private static TokenInfo await(CompletableFuture<TokenInfo> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = OpaqueRefreshToken.hash(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+}
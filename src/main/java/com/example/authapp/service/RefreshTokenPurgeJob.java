@@ -0,0 +1,146 @@
+package com.example.authapp.service;
+
+import com.example.authapp.repository.RefreshTokenHistoryRepository;
+import com.example.authapp.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 만료된 Refresh Token 정리 작업
+ * - batch-size 단위로 나누어 삭제하고 배치마다 트랜잭션을 커밋하여 잠금 유지 시간을 제한
+ * - 배치 사이에 pause만큼 쉬어 로그인/토큰 재발급 쓰기와 경합을 줄임
+ * - MySQL 네임드 락(GET_LOCK)으로 여러 인스턴스 중 하나만 실행
+ * - Refresh Token 수명이 지난 교체 기록(refresh_token_history)도 같은 방식으로 정리
+ * - jwt.session.store=jpa일 때만 동작 (mapped 저장소는 노드별로 자체 정리)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.session.store", havingValue = "jpa", matchIfMissing = true)
+public class RefreshTokenPurgeJob {
+
+    private static final String LOCK_NAME = "authapp.refresh_token_purge";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenHistoryRepository refreshTokenHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pause;
+    private final long refreshTokenLifetime;
+    private final Counter purgedCounter;
+    private final Timer purgeTimer;
+
+    public RefreshTokenPurgeJob(
+            RefreshTokenRepository refreshTokenRepository,
+            RefreshTokenHistoryRepository refreshTokenHistoryRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${jwt.session.purge.batch-size:5000}") int batchSize,
+            @Value("${jwt.session.purge.pause:200ms}") Duration pause,
+            @Value("${jwt.refresh-expiration}") long refreshTokenLifetime,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenHistoryRepository = refreshTokenHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.refreshTokenLifetime = refreshTokenLifetime;
+        this.purgedCounter = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh tokens removed by the purge job")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("refresh_tokens.purge")
+                .description("Duration of the expired refresh token purge job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.session.purge.interval:3600000}",
+               initialDelayString = "${jwt.session.purge.initial-delay:60000}")
+    public void purgeExpired() {
+        // 락은 연결(세션) 단위이므로 같은 연결에서 획득/해제하고, 삭제는 배치별 트랜잭션에서 수행
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!acquireLock(connection)) {
+                log.debug("Refresh token purge is running on another instance - skipped");
+                return null;
+            }
+            try {
+                purgeTimer.record(this::purgeInBatches);
+            } finally {
+                releaseLock(connection);
+            }
+            return null;
+        });
+    }
+
+    private void purgeInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> refreshTokenRepository.deleteExpiredBatch(now, batchSize));
+            total += deleted;
+            purgedCounter.increment(deleted);
+        } while (deleted == batchSize && pause());
+
+        if (total > 0) {
+            log.info("Deleted {} expired refresh tokens", total);
+        }
+
+        // 교체된 지 Refresh Token 수명 이상 지난 기록 (해당 토큰은 발급 시각 기준으로 이미 만료됨)
+        LocalDateTime before = now.minusSeconds(refreshTokenLifetime);
+        long history = 0;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    refreshTokenHistoryRepository.deleteRotatedBeforeBatch(before, batchSize));
+            history += deleted;
+        } while (deleted == batchSize && pause());
+
+        if (history > 0) {
+            log.info("Deleted {} old refresh token rotation records", history);
+        }
+    }
+
+    // 다음 배치 전 대기 (종료 중 인터럽트되면 중단)
+    private boolean pause() {
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 대기 없이 락 획득 시도 (다른 인스턴스가 실행 중이면 false)
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.execute();
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.authapp.service;
 
-import com.example.authapp.entity.RefreshToken;
+import com.example.authapp.entity.TokenSubject;
 import com.example.authapp.entity.User;
+import com.example.authapp.exception.RefreshTokenReuseException;
 import com.example.authapp.repository.RefreshTokenRepository;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -17,111 +27,248 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class RefreshTokenService {
 
+    private static final int MAX_USER_AGENT_LENGTH = 500;
+
+    private final RefreshTokenStore refreshTokenStore;
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtService jwtService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final TransactionTemplate transactionTemplate;
 
-    // RefreshToken 생성 및 저장
-    @Transactional
-    public RefreshToken createRefreshToken(User user) {
-        // 기존 RefreshToken이 있다면 삭제
-        refreshTokenRepository.deleteByUser(user);
+    @Value("${jwt.session.max-per-user:10}")
+    private int maxSessionsPerUser;
+
+    // 교체 직후 이 시간 안에 들어온 직전 토큰은 동시 요청(다른 인스턴스, 재시도)으로 보고 무효화하지 않음
+    @Value("${jwt.refresh.reuse-grace:5s}")
+    private Duration reuseGrace;
 
-        // 새 RefreshToken 생성
-        String refreshTokenValue = jwtService.generateRefreshToken(user);
+    // 교체 결과 - 새 Access Token과 Refresh Token
+    public record RotatedRefreshToken(String accessToken, String refreshToken) {
+    }
+
+    // 로그인 세션 생성 - 새 토큰 계열 시작
+    // 새 기기는 세션이 추가되고, 같은 기기의 기존 세션은 교체됨 (다른 기기의 세션은 유지)
+    // 토큰 값은 "{id}.{secret}" 형식이며 저장소에는 secret의 SHA-256 해시만 저장
+    @Transactional
+    public String createRefreshToken(TokenSubject user, String deviceId, String userAgent) {
+        String sessionDeviceId = StringUtils.hasText(deviceId) ? deviceId : UUID.randomUUID().toString();
+        byte[] secret = OpaqueRefreshToken.newSecret();
         LocalDateTime expiryDate = jwtService.calculateRefreshTokenExpiryDate();
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .token(refreshTokenValue)
-                .user(user)
-                .expiresAt(expiryDate)
-                .build();
+        long id = refreshTokenStore.upsert(user, sessionDeviceId, truncate(userAgent),
+                OpaqueRefreshToken.hash(secret), UUID.randomUUID().toString(), expiryDate, LocalDateTime.now());
 
-        RefreshToken savedToken = refreshTokenRepository.save(refreshToken);
-        log.info("Created refresh token for user: {}", user.getEmail());
+        // 세션 수 제한 - 초과한 경우에만 오래 사용하지 않은 세션 정리
+        if (refreshTokenStore.countByUserId(user.getId()) > maxSessionsPerUser) {
+            int removed = refreshTokenStore.deleteOldestByUserId(user.getId(), maxSessionsPerUser);
+            log.info("Removed {} oldest sessions for user: {}", removed, user.getEmail());
+        }
+        log.info("Created refresh token for user: {}, deviceId: {}", user.getEmail(), sessionDeviceId);
 
-        return savedToken;
+        return OpaqueRefreshToken.format(id, secret);
     }
 
-    // RefreshToken 조회
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    // 사용자의 유효한 세션 목록 (최근 사용 순)
+    public List<RefreshSession> findSessions(User user) {
+        return refreshTokenStore.findActiveByUserId(user.getId(), LocalDateTime.now());
     }
 
-    // RefreshToken 유효성 검증
-    public boolean validateRefreshToken(String token) {
-        Optional<RefreshToken> refreshTokenOpt = refreshTokenRepository.findByToken(token);
-
-        if (refreshTokenOpt.isEmpty()) {
-            log.warn("Refresh token not found in database: {}", token);
-            return false;
+    // 사용자의 세션 하나 무효화
+    @Transactional
+    public void revokeSession(User user, Long sessionId) {
+        if (!refreshTokenStore.deleteByIdAndUserId(sessionId, user.getId())) {
+            throw new RuntimeException("세션을 찾을 수 없습니다.");
         }
+        log.info("Revoked session {} for user: {}", sessionId, user.getEmail());
+    }
 
-        RefreshToken refreshToken = refreshTokenOpt.get();
+    // 사용자에게 남은 세션이 있는지 확인
+    public boolean hasSessions(User user) {
+        return refreshTokenStore.existsByUserId(user.getId());
+    }
 
-        if (refreshToken.isExpired()) {
-            log.warn("Refresh token is expired for user: {}", refreshToken.getUser().getEmail());
-            deleteRefreshToken(refreshToken);
-            return false;
+    // 세션 조회 (opaque 토큰과 기존 JWT 토큰 모두 지원) - 호출하는 쪽에 트랜잭션이 없으면 열지 않음 (재발급 병합 경로)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<RefreshSession> findByToken(String token) {
+        OpaqueRefreshToken opaque = OpaqueRefreshToken.parse(token);
+        if (opaque == null) {
+            return refreshTokenStore.findByLegacyToken(token);
         }
+        return refreshTokenStore.findById(opaque.id())
+                .filter(session -> opaque.matches(session.tokenHash()));
+    }
 
-        return true;
+    // RefreshToken 교체 (rotation) - 사용된 토큰은 즉시 무효가 되고 같은 계열의 새 토큰 발급
+    // 이미 교체된 토큰이 다시 사용되면 계열 전체를 무효화
+    // JPA 트랜잭션은 저장소가 필요로 할 때만 열고(JPA 저장소), 메모리 맵 저장소는 트랜잭션 없이 처리
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RotatedRefreshToken rotateRefreshToken(String refreshTokenValue) {
+        if (!refreshTokenStore.requiresTransaction()) {
+            return rotate(refreshTokenValue);
+        }
+        return inTransaction(() -> rotate(refreshTokenValue));
     }
 
-    // RefreshToken으로 새로운 AccessToken 생성
-    @Transactional
-    public String refreshAccessToken(String refreshTokenValue) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenValue)
+    // 저장소 트랜잭션 안에서 실행 - 재사용 감지 시 무효화 내용은 커밋되어야 하므로 롤백하지 않고 커밋 후 예외 전달
+    private <T> T inTransaction(Supplier<T> action) {
+        RefreshTokenReuseException[] reuse = new RefreshTokenReuseException[1];
+        T result = transactionTemplate.execute(status -> {
+            try {
+                return action.get();
+            } catch (RefreshTokenReuseException e) {
+                reuse[0] = e;
+                return null;
+            }
+        });
+        if (reuse[0] != null) {
+            throw reuse[0];
+        }
+        return result;
+    }
+
+    // 교체 처리 - 소유자 확인과 Access Token 발급을 먼저 하고, 저장소의 교체를 마지막에 수행
+    // (교체 이후 실패할 수 있는 단계가 없으므로 트랜잭션 없는 저장소에서도 교체만 되고 응답하지 못하는 경우가 없음)
+    private RotatedRefreshToken rotate(String refreshTokenValue) {
+        OpaqueRefreshToken opaque = OpaqueRefreshToken.parse(refreshTokenValue);
+        if (opaque == null) {
+            return rotateLegacyToken(refreshTokenValue);
+        }
+
+        // id 조회 후 해시 비교 (상수 시간)
+        RefreshSession session = refreshTokenStore.findById(opaque.id())
                 .orElseThrow(() -> new RuntimeException("유효하지 않은 Refresh Token입니다."));
+        if (!opaque.matches(session.tokenHash())) {
+            if (opaque.matches(session.previousHash())) {
+                throw handleReuse(session); // 이미 교체된 직전 토큰의 재사용
+            }
+            if (refreshTokenStore.isRotatedToken(session.id(), session.familyId(), opaque.hash())) {
+                throw revokeFamily(session); // 두 번 이상 교체된 토큰 - 동시 요청일 수 없으므로 유예 없이 무효화
+            }
+            // 이 계열에서 발급된 적 없는 비밀값 (세션 id만 맞춘 추측 등) - 다른 사용자의 세션을 무효화할 수 없도록 거절만 함
+            throw new RuntimeException("유효하지 않은 Refresh Token입니다.");
+        }
+        if (session.isExpired()) {
+            deleteSession(session);
+            throw new RuntimeException("만료된 Refresh Token입니다.");
+        }
+
+        TokenSubject reloadedOwner = reloadOwnerIfStale(session);
+        TokenSubject owner = reloadedOwner != null ? reloadedOwner : session.owner();
+        String accessToken = jwtService.generateAccessToken(owner);
+
+        byte[] newSecret = OpaqueRefreshToken.newSecret();
+        if (!refreshTokenStore.rotate(session.id(), opaque.hash(), OpaqueRefreshToken.hash(newSecret),
+                jwtService.calculateRefreshTokenExpiryDate(), LocalDateTime.now(), reloadedOwner)) {
+            // 조회 이후 다른 요청이 같은 토큰으로 먼저 교체함 - 동시 요청이므로 무효화하지 않음
+            throw new RuntimeException("유효하지 않은 Refresh Token입니다.");
+        }
+
+        log.info("Rotated refresh token for user: {}", owner.getEmail());
+        return new RotatedRefreshToken(accessToken, OpaqueRefreshToken.format(session.id(), newSecret));
+    }
+
+    // 기존 JWT Refresh Token 교체 - 사용 시점에 opaque 토큰으로 전환
+    private RotatedRefreshToken rotateLegacyToken(String refreshTokenValue) {
+        String familyId;
+        try {
+            familyId = jwtService.getFamilyIdFromToken(refreshTokenValue); // 서명/만료 검증
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("유효하지 않은 Refresh Token입니다.");
+        }
 
-        if (refreshToken.isExpired()) {
-            deleteRefreshToken(refreshToken);
+        RefreshSession session = refreshTokenStore.findByLegacyToken(refreshTokenValue)
+                .orElseThrow(() -> handleUnknownLegacyToken(familyId));
+        if (session.isExpired()) {
+            deleteSession(session);
             throw new RuntimeException("만료된 Refresh Token입니다.");
         }
 
-        User user = refreshToken.getUser();
-        String newAccessToken = jwtService.generateAccessToken(user);
+        TokenSubject reloadedOwner = reloadOwnerIfStale(session);
+        TokenSubject owner = reloadedOwner != null ? reloadedOwner : session.owner();
+        String accessToken = jwtService.generateAccessToken(owner);
+
+        byte[] newSecret = OpaqueRefreshToken.newSecret();
+        if (!refreshTokenStore.migrateLegacyToken(session.id(), refreshTokenValue, OpaqueRefreshToken.hash(newSecret),
+                jwtService.calculateRefreshTokenExpiryDate(), LocalDateTime.now())) {
+            throw new RuntimeException("유효하지 않은 Refresh Token입니다."); // 동시 전환 요청에 밀림
+        }
+
+        log.info("Migrated legacy refresh token for user: {}", owner.getEmail());
+        return new RotatedRefreshToken(accessToken, OpaqueRefreshToken.format(session.id(), newSecret));
+    }
 
-        log.info("Refreshed access token for user: {}", user.getEmail());
-        return newAccessToken;
+    // 현재 토큰이 아닌 기존 JWT Refresh Token 처리 - 살아있는 계열의 토큰이면 재사용으로 보고 계열 전체 무효화
+    private RuntimeException handleUnknownLegacyToken(String familyId) {
+        if (familyId == null) {
+            return new RuntimeException("유효하지 않은 Refresh Token입니다."); // 계열 도입 이전 토큰
+        }
+        return refreshTokenStore.findByLegacyFamilyId(familyId)
+                .map(this::handleReuse)
+                .orElseGet(() -> new RuntimeException("유효하지 않은 Refresh Token입니다."));
     }
 
-    // RefreshToken 업데이트
-    @Transactional
-    public RefreshToken updateRefreshToken(User user, String newRefreshToken) {
-        Optional<RefreshToken> existingToken = refreshTokenRepository.findByUser(user);
+    // 직전 토큰의 재사용 처리
+    // - 교체 직후(reuse-grace 이내)면 같은 토큰의 동시 요청으로 보고 거절만 함
+    // - 그 이후면 탈취로 보고 계열 무효화
+    private RuntimeException handleReuse(RefreshSession session) {
+        LocalDateTime lastUsedAt = session.lastUsedAt();
+        if (lastUsedAt != null && lastUsedAt.isAfter(LocalDateTime.now().minus(reuseGrace))) {
+            log.info("Refresh token replayed within grace period - rejected without revocation. sessionId: {}", session.id());
+            return new RuntimeException("이미 교체된 Refresh Token입니다.");
+        }
+        return revokeFamily(session);
+    }
 
-        if (existingToken.isPresent()) {
-            RefreshToken refreshToken = existingToken.get();
-            LocalDateTime newExpiryDate = jwtService.calculateRefreshTokenExpiryDate();
-            refreshToken.updateToken(newRefreshToken, newExpiryDate);
+    // 탈취된 계열 무효화 - 세션을 삭제하고 사용자 epoch를 올려 이미 발급된 Access Token도 거부
+    // (다른 기기는 세션이 유지되므로 Refresh Token으로 새 Access Token을 받을 수 있음)
+    private RuntimeException revokeFamily(RefreshSession session) {
+        refreshTokenStore.deleteById(session.id());
+        tokenEpochRegistry.revokeAll(session.userId());
+        log.warn("Refresh token reuse detected - family and access tokens revoked. userId: {}, familyId: {}",
+                session.userId(), session.familyId());
+        return new RefreshTokenReuseException("이미 사용된 Refresh Token입니다. 다시 로그인해주세요.");
+    }
 
-            log.info("Updated refresh token for user: {}", user.getEmail());
-            return refreshTokenRepository.save(refreshToken);
-        } else {
-            // 기존 토큰이 없으면 새로 생성
-            return createRefreshToken(user);
+    // 토큰 소유자 확인 - 세션의 소유자 정보가 현재 epoch이면 그대로 사용하므로 null 반환
+    // (JPA 저장소는 세션과 함께 조회된 사용자, 메모리 맵 저장소는 레코드에 보관된 값)
+    // 없거나 epoch가 지났으면(권한 변경, 비활성화 등) 다시 조회하고, 교체 시 세션의 소유자 정보도 갱신
+    private TokenSubject reloadOwnerIfStale(RefreshSession session) {
+        TokenSubject owner = session.owner();
+        if (owner != null && !tokenEpochRegistry.isStale(session.userId(), owner.getTokenEpoch())) {
+            return null;
         }
+        return userPrincipalCache.findById(session.userId())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
     }
 
-    // RefreshToken 삭제
+    // 세션 삭제
     @Transactional
-    public void deleteRefreshToken(RefreshToken refreshToken) {
-        refreshTokenRepository.delete(refreshToken);
-        log.info("Deleted refresh token for user: {}", refreshToken.getUser().getEmail());
+    public void deleteSession(RefreshSession session) {
+        refreshTokenStore.deleteById(session.id());
+        log.info("Deleted refresh token session {} for userId: {}", session.id(), session.userId());
     }
 
-    // 사용자의 RefreshToken 삭제 (로그아웃 시)
+    // 사용자의 모든 세션 삭제 (모든 기기에서 로그아웃 시)
     @Transactional
     public void deleteRefreshTokenByUser(User user) {
-        refreshTokenRepository.deleteByUser(user);
+        refreshTokenStore.deleteByUserId(user.getId());
         log.info("Deleted refresh token for user: {}", user.getEmail());
     }
 
-    // 만료된 RefreshToken들 일괄 삭제 (배치 작업용)
+    // 삭제되는 사용자의 세션 정리 - 사용 중인 저장소와 refresh_tokens 테이블 모두 삭제
+    // (mapped 저장소 사용 시에도 전환 전 세션이 테이블에 남아 있을 수 있고, 남아 있으면 users FK로 삭제가 실패함)
     @Transactional
-    public void deleteExpiredTokens() {
-        long deletedCount = refreshTokenRepository.countExpiredTokens(LocalDateTime.now());
-        refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        log.info("Deleted {} expired refresh tokens", deletedCount);
+    public void deleteAllSessions(Long userId) {
+        refreshTokenStore.deleteByUserId(userId);
+        refreshTokenRepository.deleteByUserId(userId);
+        log.info("Deleted all sessions for userId: {}", userId);
+    }
+
+    private static String truncate(String userAgent) {
+        if (userAgent == null || userAgent.length() <= MAX_USER_AGENT_LENGTH) {
+            return userAgent;
+        }
+        return userAgent.substring(0, MAX_USER_AGENT_LENGTH);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.TokenSubject;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 로그인 세션(Refresh Token) 저장소
+ * - jwt.session.store=jpa (기본): MySQL refresh_tokens 테이블 ({@link JpaRefreshTokenStore})
+ * - jwt.session.store=mapped: 노드 로컬 메모리 맵 파일 ({@link MappedRefreshTokenStore})
+ * - 세션 id는 opaque 토큰의 앞부분으로 클라이언트에 전달되며 조회는 id로만 수행
+ */
+public interface RefreshTokenStore {
+
+    // 기기 세션 발급 - 같은 사용자/기기의 세션이 있으면 교체(id 유지), 없으면 추가. 세션 id 반환
+    long upsert(TokenSubject owner, String deviceId, String userAgent, byte[] tokenHash, String familyId,
+                LocalDateTime expiresAt, LocalDateTime now);
+
+    Optional<RefreshSession> findById(long id);
+
+    // 현재 해시가 일치하고 만료되지 않은 경우에만 교체 (false면 이미 다른 요청이 교체한 토큰)
+    // 교체된 해시는 계열 기록에 남겨 이후 재사용 감지에 사용
+    // owner가 있으면 세션에 보관된 소유자 정보도 함께 갱신 (null이면 유지)
+    boolean rotate(long id, byte[] currentHash, byte[] newHash, LocalDateTime expiresAt, LocalDateTime now,
+                   TokenSubject owner);
+
+    // 세션의 현재 계열에서 발급되었다가 교체된 토큰인지 (직전 토큰보다 오래된 토큰의 재사용 감지)
+    boolean isRotatedToken(long id, String familyId, byte[] tokenHash);
+
+    // 사용자의 유효한 세션 목록 (최근 사용 순)
+    List<RefreshSession> findActiveByUserId(long userId, LocalDateTime now);
+
+    long countByUserId(long userId);
+
+    boolean existsByUserId(long userId);
+
+    // 최근 사용한 세션 keep개만 남기고 삭제
+    int deleteOldestByUserId(long userId, int keep);
+
+    boolean deleteById(long id);
+
+    // 사용자의 특정 세션 삭제 (다른 사용자의 세션은 삭제되지 않음)
+    boolean deleteByIdAndUserId(long id, long userId);
+
+    void deleteByUserId(long userId);
+
+    // 호출하는 서비스의 JPA 트랜잭션 안에서 동작해야 하는지 (false면 재발급 경로에서 트랜잭션을 열지 않음)
+    default boolean requiresTransaction() {
+        return true;
+    }
+
+    // 기존 JWT Refresh Token (refresh_tokens 테이블에만 존재) - 지원하지 않는 저장소는 항상 없음
+    default Optional<RefreshSession> findByLegacyToken(String legacyToken) {
+        return Optional.empty();
+    }
+
+    default Optional<RefreshSession> findByLegacyFamilyId(String familyId) {
+        return Optional.empty();
+    }
+
+    // 기존 JWT Refresh Token을 opaque 토큰으로 전환
+    default boolean migrateLegacyToken(long id, String legacyToken, byte[] newHash,
+                                       LocalDateTime expiresAt, LocalDateTime now) {
+        return false;
+    }
+}
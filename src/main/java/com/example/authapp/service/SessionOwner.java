@@ -0,0 +1,48 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.Provider;
+import com.example.authapp.entity.Role;
+import com.example.authapp.entity.TokenSubject;
+
+/**
+ * 세션 레코드에 함께 보관하는 토큰 소유자 정보 - Access Token 발급에 필요한 값만 포함 (이름/프로필 이미지 없음)
+ * - 메모리 맵 저장소는 재발급 시 이 값으로 Access Token을 발급하여 사용자 조회를 생략
+ * - tokenEpoch가 현재 epoch보다 작으면(권한 변경, 비활성화, 삭제 등) 사용하지 않고 사용자를 다시 조회
+ */
+public record SessionOwner(Long id, String email, Role role, Provider provider, int tokenEpoch) implements TokenSubject {
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return null;
+    }
+
+    @Override
+    public String getProfileImage() {
+        return null;
+    }
+
+    @Override
+    public Provider getProvider() {
+        return provider;
+    }
+
+    @Override
+    public Role getRole() {
+        return role;
+    }
+
+    @Override
+    public int getTokenEpoch() {
+        return tokenEpoch;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.RevokedToken;
+import com.example.authapp.repository.RevokedTokenRepository;
+import com.example.authapp.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만료 전에 무효화된 Access Token 목록 (메모리)
+ * - Bloom 필터로 "무효화되지 않음"을 빠르게 판정하고, Bloom 적중 시에만 정확한 집합 조회
+ * - 토큰의 exp가 지나면 자동으로 제거 (Bloom 필터는 남은 항목으로 재생성)
+ * - revoked_tokens 테이블에 영속화하여 시작 시 복원하고, 다른 인스턴스의 무효화도 주기적으로 반영
+ *   (DB가 부여한 seq 기준으로 읽으므로 인스턴스 간 시계 차이와 무관)
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long SYNC_SEQ_OVERLAP = 100; // seq 할당 순서와 커밋 순서가 다른 무효화 보정
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+
+    // jti -> 토큰 만료 시각
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private long bloomCapacity;
+    private volatile long lastSyncedSeq;
+
+    public TokenDenylist(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.denylist.expected-entries:100000}") long expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.bloomCapacity = expectedEntries;
+        this.bloomFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    // 시작 시 영속화된 무효화 목록 복원
+    @PostConstruct
+    public void load() {
+        lastSyncedSeq = revokedTokenRepository.findMaxSeq(); // 이후 커밋된 무효화는 다음 동기화에서 반영
+        for (RevokedToken token : revokedTokenRepository.findAllByExpiresAtAfter(LocalDateTime.now())) {
+            add(token.getJti(), toInstant(token.getExpiresAt()));
+        }
+        log.info("Loaded {} revoked access tokens", revoked.size());
+    }
+
+    // 토큰 무효화 여부 확인 - 대부분의 요청은 Bloom 필터에서 바로 false
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    // 토큰 무효화 (이미 만료된 토큰은 기록하지 않음) - 트랜잭션 커밋 후 메모리 목록에 반영
+    @Transactional
+    public void revoke(String jti, Long userId, Instant expiration) {
+        if (jti == null || !expiration.isAfter(Instant.now()) || revoked.containsKey(jti)) {
+            return;
+        }
+
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .userId(userId)
+                .expiresAt(LocalDateTime.ofInstant(expiration, ZoneId.systemDefault()))
+                .build());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(jti, expiration);
+                }
+            });
+        } else {
+            add(jti, expiration);
+        }
+        log.info("Revoked access token - jti: {}, userId: {}", jti, userId);
+    }
+
+    // 다른 인스턴스에서 무효화된 토큰 반영
+    @Scheduled(fixedDelayString = "${jwt.denylist.sync-interval:10000}")
+    public synchronized void syncFromDatabase() {
+        long since = Math.max(0, lastSyncedSeq - SYNC_SEQ_OVERLAP); // 늦게 커밋된 낮은 seq도 다시 읽음 (add는 중복 무시)
+        for (RevokedToken token : revokedTokenRepository.findAllBySeqGreaterThanOrderBySeq(since)) {
+            add(token.getJti(), toInstant(token.getExpiresAt()));
+            lastSyncedSeq = Math.max(lastSyncedSeq, token.getSeq());
+        }
+    }
+
+    // 만료된 항목 제거 후 Bloom 필터 재생성
+    @Scheduled(fixedDelayString = "${jwt.denylist.cleanup-interval:60000}")
+    @Transactional
+    public void evictExpired() {
+        Instant now = Instant.now();
+        boolean removed = revoked.values().removeIf(expiration -> !expiration.isAfter(now));
+        if (removed) {
+            rebuildBloomFilter();
+        }
+
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+        if (deleted > 0) {
+            log.info("Removed {} expired revoked tokens", deleted);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // 추가와 재생성은 드물게 일어나므로 잠금으로 직렬화 (조회는 잠금 없음)
+    private synchronized void add(String jti, Instant expiration) {
+        if (revoked.putIfAbsent(jti, expiration) == null) {
+            bloomFilter.put(jti);
+            // 예상 크기를 넘어서면 오탐률 유지를 위해 더 큰 필터로 교체
+            if (revoked.size() > bloomCapacity) {
+                rebuildBloomFilter();
+            }
+        }
+    }
+
+    // 새 필터를 채운 뒤 교체 (교체 전까지는 기존 필터가 모든 항목을 포함)
+    private synchronized void rebuildBloomFilter() {
+        bloomCapacity = Math.max(expectedEntries, revoked.size() * 2L);
+        BloomFilter rebuilt = new BloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.TokenEpochChange;
+import com.example.authapp.entity.User;
+import com.example.authapp.repository.TokenEpochChangeRepository;
+import com.example.authapp.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 토큰 epoch 테이블 (메모리)
+ * - Access Token의 tokenEpoch 클레임이 사용자의 현재 epoch보다 작으면 DB 조회 없이 거부
+ * - epoch가 0인 사용자(대부분)는 저장하지 않음
+ * - users.token_epoch에 영속화하여 시작 시 복원 (삭제된 사용자는 보관 중인 변경 기록에서 복원)
+ * - 변경은 token_epoch_changes에도 기록하고, 다른 인스턴스는 DB가 부여한 seq 기준으로 주기적으로 반영
+ *   (인스턴스 시계나 users 행의 다른 변경과 무관)
+ */
+@Slf4j
+@Component
+public class TokenEpochRegistry {
+
+    private static final long SYNC_SEQ_OVERLAP = 100; // seq 할당 순서와 커밋 순서가 다른 변경 보정
+
+    private final UserRepository userRepository;
+    private final TokenEpochChangeRepository tokenEpochChangeRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final long accessTokenLifetime;
+
+    // userId -> 현재 epoch (0보다 큰 사용자만)
+    private final Map<Long, Integer> epochs = new ConcurrentHashMap<>();
+    private volatile long lastSyncedSeq;
+
+    public TokenEpochRegistry(
+            UserRepository userRepository,
+            TokenEpochChangeRepository tokenEpochChangeRepository,
+            UserPrincipalCache userPrincipalCache,
+            @Value("${jwt.expiration}") long accessTokenLifetime) {
+        this.userRepository = userRepository;
+        this.tokenEpochChangeRepository = tokenEpochChangeRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.accessTokenLifetime = accessTokenLifetime;
+    }
+
+    // 시작 시 epoch 테이블 복원
+    @PostConstruct
+    public void load() {
+        lastSyncedSeq = tokenEpochChangeRepository.findMaxSeq(); // 이후 커밋된 변경은 다음 동기화에서 반영
+        userRepository.findAllTokenEpochs().forEach(view -> update(view.getUserId(), view.getTokenEpoch()));
+        // 삭제된 사용자는 users에 없으므로 Access Token 수명 동안 보관되는 변경 기록도 반영
+        tokenEpochChangeRepository.findAllBySeqGreaterThanOrderBySeq(0)
+                .forEach(change -> update(change.getUserId(), change.getTokenEpoch()));
+        log.info("Loaded token epochs for {} users", epochs.size());
+    }
+
+    // 토큰의 epoch가 현재 epoch보다 오래되었는지 확인
+    public boolean isStale(Long userId, int tokenEpoch) {
+        if (userId == null) {
+            return false;
+        }
+        Integer current = epochs.get(userId);
+        return current != null && tokenEpoch < current;
+    }
+
+    // 사용자에게 발급된 모든 Access Token 무효화 (사용자 id로 조회, 없으면 무시)
+    @Transactional
+    public void revokeAll(Long userId) {
+        userRepository.findById(userId).ifPresent(this::revokeAll);
+    }
+
+    // 사용자에게 발급된 모든 Access Token 무효화 - 변경 기록을 남기고 트랜잭션 커밋 후 메모리 테이블에 반영
+    // 캐시된 사용자도 제거 (이전 epoch로 새 토큰이 발급되지 않도록)
+    public void revokeAll(User user) {
+        user.increaseTokenEpoch();
+        Long userId = user.getId();
+        int epoch = user.getTokenEpoch();
+        tokenEpochChangeRepository.save(TokenEpochChange.builder()
+                .userId(userId)
+                .tokenEpoch(epoch)
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(userId, epoch);
+                }
+            });
+        } else {
+            update(userId, epoch);
+        }
+        userPrincipalCache.invalidate(user);
+        log.info("Revoked all access tokens - userId: {}, epoch: {}", userId, epoch);
+    }
+
+    // 다른 인스턴스에서 증가한 epoch 반영
+    @Scheduled(fixedDelayString = "${jwt.epoch.sync-interval:10000}")
+    public synchronized void syncFromDatabase() {
+        long since = Math.max(0, lastSyncedSeq - SYNC_SEQ_OVERLAP); // 늦게 커밋된 낮은 seq도 다시 읽음 (update는 멱등)
+        for (TokenEpochChange change : tokenEpochChangeRepository.findAllBySeqGreaterThanOrderBySeq(since)) {
+            if (update(change.getUserId(), change.getTokenEpoch())) {
+                userPrincipalCache.invalidate(change.getUserId()); // 다른 인스턴스에서 권한/상태가 바뀐 사용자
+            }
+            lastSyncedSeq = Math.max(lastSyncedSeq, change.getSeq());
+        }
+    }
+
+    // Access Token 수명이 지난 변경 기록 정리 (이후 시작하는 인스턴스는 users.token_epoch에서 복원)
+    @Scheduled(fixedDelayString = "${jwt.epoch.cleanup-interval:3600000}")
+    @Transactional
+    public void purgeChangeLog() {
+        int deleted = tokenEpochChangeRepository.deleteChangedBefore(
+                LocalDateTime.now().minusSeconds(accessTokenLifetime));
+        if (deleted > 0) {
+            log.info("Removed {} old token epoch changes", deleted);
+        }
+    }
+
+    public int size() {
+        return epochs.size();
+    }
+
+    // epoch는 증가만 하므로 더 큰 값만 반영 - 값이 바뀌었으면 true
+    private boolean update(Long userId, int epoch) {
+        if (userId == null || epoch <= 0) {
+            return false;
+        }
+        Integer previous = epochs.get(userId);
+        int current = epochs.merge(userId, epoch, Math::max);
+        return previous == null || current > previous;
+    }
+}
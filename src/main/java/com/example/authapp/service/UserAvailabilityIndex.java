@@ -0,0 +1,198 @@
+package com.example.authapp.service;
+
+import com.example.authapp.repository.UserRepository;
+import com.example.authapp.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 이메일/아이디 사용 가능 여부 확인용 Bloom 필터 (메모리)
+ * - 필터에 없으면 확실히 사용 가능이므로 DB를 조회하지 않고, 필터 적중 시에만 인덱스 조회 한 번으로 확정
+ * - 시작 후 users 테이블을 스트리밍하여 생성 (생성 전에는 DB로 확인)
+ * - 회원가입 시 바로 추가하고, 다른 인스턴스의 가입은 id 기준으로 주기적으로 반영
+ * - 탈퇴한 사용자는 필터에서 뺄 수 없으므로 확정 조회에서 걸러지고, 다음 재생성 시 필터에서도 제거
+ * - 키는 소문자로 정규화 (DB 콜레이션은 대소문자를 구분하지 않음)
+ */
+@Slf4j
+@Component
+public class UserAvailabilityIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final String EMAIL_PREFIX = "e:";
+    private static final String USERNAME_PREFIX = "u:";
+    private static final long SYNC_ID_OVERLAP = 100; // id 순서와 커밋 순서가 다른 가입 보정
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final long expectedEntries;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile BloomFilter building; // 재생성 중 들어온 가입도 새 필터에 반영
+    private volatile boolean ready;
+    private long capacity;
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong deletedSinceBuild = new AtomicLong();
+    private volatile long lastSyncedId;
+
+    private final Counter bloomNegatives;
+    private final Counter confirmedTaken;
+    private final Counter falsePositives;
+
+    public UserAvailabilityIndex(
+            JdbcTemplate jdbcTemplate,
+            UserRepository userRepository,
+            @Value("${app.availability.expected-entries:2000000}") long expectedEntries,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.expectedEntries = expectedEntries;
+        this.bloomNegatives = checkCounter("bloom-negative", meterRegistry);
+        this.confirmedTaken = checkCounter("taken", meterRegistry);
+        this.falsePositives = checkCounter("false-positive", meterRegistry);
+    }
+
+    // 애플리케이션 시작 후 생성 (생성하는 동안 요청은 DB로 확인)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    public boolean isEmailTaken(String email) {
+        return isTaken(EMAIL_PREFIX, email, userRepository::existsByEmail);
+    }
+
+    public boolean isUsernameTaken(String username) {
+        return isTaken(USERNAME_PREFIX, username, userRepository::existsByUsername);
+    }
+
+    // 가입한 사용자 추가
+    public void recordUser(String email, String username) {
+        put(EMAIL_PREFIX, email);
+        put(USERNAME_PREFIX, username);
+    }
+
+    // 탈퇴한 사용자 - 다음 재생성 때 필터에서 제거
+    public void recordDeletion() {
+        deletedSinceBuild.incrementAndGet();
+    }
+
+    // 다른 인스턴스에서 가입한 사용자 반영 (PK 범위 조회)
+    @Scheduled(fixedDelayString = "${app.availability.sync-interval:10000}")
+    public synchronized void syncFromDatabase() {
+        if (!ready) {
+            return;
+        }
+        long since = Math.max(0, lastSyncedId - SYNC_ID_OVERLAP);
+        jdbcTemplate.query("SELECT id, email, username FROM users WHERE id > ? ORDER BY id",
+                (ResultSet rs) -> {
+                    recordUser(rs.getString("email"), rs.getString("username"));
+                    long id = rs.getLong("id");
+                    if (id > lastSyncedId) {
+                        entries.addAndGet(2); // 보정 구간에서 다시 읽은 사용자와 이 인스턴스의 가입은 중복 집계하지 않음
+                        lastSyncedId = id;
+                    }
+                }, since);
+
+        // 예상 크기를 넘어서면 오탐률 유지를 위해 더 큰 필터로 교체
+        if (entries.get() > capacity) {
+            rebuild();
+        }
+    }
+
+    // 탈퇴한 사용자가 있으면 주기적으로 재생성
+    @Scheduled(fixedDelayString = "${app.availability.rebuild-interval:21600000}",
+               initialDelayString = "${app.availability.rebuild-interval:21600000}")
+    public void rebuildIfStale() {
+        if (deletedSinceBuild.get() > 0) {
+            rebuild();
+        }
+    }
+
+    // users 테이블을 스트리밍하여 새 필터를 채운 뒤 교체
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        capacity = Math.max(expectedEntries, (users == null ? 0 : users) * 4); // 사용자당 키 2개, 여유 2배
+        deletedSinceBuild.set(0);
+        entries.set(0);
+
+        BloomFilter rebuilt = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        building = rebuilt;
+        AtomicLong maxId = new AtomicLong(lastSyncedId);
+        try {
+            // MySQL은 fetch size가 Integer.MIN_VALUE일 때 행 단위로 스트리밍 (결과 전체를 메모리에 올리지 않음)
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT id, email, username FROM users",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, (ResultSet rs) -> {
+                putInto(rebuilt, EMAIL_PREFIX, rs.getString("email"));
+                putInto(rebuilt, USERNAME_PREFIX, rs.getString("username"));
+                entries.addAndGet(2);
+                maxId.accumulateAndGet(rs.getLong("id"), Math::max);
+            });
+            bloomFilter = rebuilt;
+            lastSyncedId = maxId.get();
+            ready = true;
+        } finally {
+            building = null;
+        }
+        log.info("Built user availability index - entries: {}, capacity: {}, took {}ms",
+                entries.get(), capacity, System.currentTimeMillis() - started);
+    }
+
+    private boolean isTaken(String prefix, String value, Predicate<String> confirm) {
+        if (!ready) {
+            return confirm.test(value);
+        }
+        if (!bloomFilter.mightContain(key(prefix, value))) {
+            bloomNegatives.increment();
+            return false;
+        }
+        boolean taken = confirm.test(value);
+        (taken ? confirmedTaken : falsePositives).increment();
+        return taken;
+    }
+
+    private void put(String prefix, String value) {
+        BloomFilter current = bloomFilter;
+        if (current != null) {
+            putInto(current, prefix, value);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            putInto(next, prefix, value);
+        }
+    }
+
+    private static void putInto(BloomFilter filter, String prefix, String value) {
+        if (value != null) {
+            filter.put(key(prefix, value));
+        }
+    }
+
+    private static String key(String prefix, String value) {
+        return prefix + value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter checkCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.availability.checks")
+                .description("Email/username availability checks by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.User;
+import com.example.authapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 인증 주체(User 엔티티) 캐시
+ * - JwtAuthenticationFilter와 AuthService.getUserFromToken의 사용자 조회 앞단에서 사용
+ * - 사용자 정보가 변경되면 즉시, 그리고 트랜잭션 커밋 후 한 번 더 제거 (커밋 전 값이 다시 캐시되는 것 방지)
+ * - 엔티티를 거치지 않는 쓰기(비밀번호 재해싱, 접속 상태 일괄 반영)는 해당 경로에서 사용자 ID로 제거
+ * - 캐시에는 외부에 노출되지 않는 복사본을 보관하고 조회할 때마다 새 준영속 복사본을 반환 (요청 간 공유 없음)
+ * - 제거는 인스턴스 단위 - 다른 인스턴스의 변경은 ttl 안에 반영되고, 권한/비활성화 등 epoch 증가를 동반한 변경은
+ *   TokenEpochRegistry 동기화 시 바로 제거
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Cache<String, Long> byEmail; // 이메일 -> 사용자 ID
+    private final Cache<Long, User> byId;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            @Value("${jwt.principal-cache.enabled:true}") boolean enabled,
+            @Value("${jwt.principal-cache.ttl:10}") long ttlSeconds,
+            @Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.byEmail = newCache(ttlSeconds, maxSize);
+        this.byId = newCache(ttlSeconds, maxSize);
+
+        if (enabled) {
+            // 적중률은 actuator metrics의 cache.gets(result=hit|miss)로 확인
+            CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "user.principals.by-email");
+            CaffeineCacheMetrics.monitor(meterRegistry, byId, "user.principals.by-id");
+        }
+        log.info("User principal cache enabled: {}, ttl: {}s, max size: {}", enabled, ttlSeconds, maxSize);
+    }
+
+    // 이메일로 사용자 조회 (없는 사용자는 캐시하지 않음)
+    public Optional<User> findByEmail(String email) {
+        if (!enabled) {
+            return userRepository.findByEmail(email);
+        }
+        Long userId = byEmail.getIfPresent(email);
+        User user = userId == null ? null : byId.getIfPresent(userId);
+        if (user != null && user.getEmail().equalsIgnoreCase(email)) { // 이메일이 바뀐 사용자의 이전 매핑은 무시
+            return Optional.of(user.detachedCopy());
+        }
+        Optional<User> loaded = userRepository.findByEmail(email);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    // 사용자 ID로 조회 (없는 사용자는 캐시하지 않음)
+    public Optional<User> findById(Long userId) {
+        if (!enabled) {
+            return userRepository.findById(userId);
+        }
+        User user = byId.getIfPresent(userId);
+        if (user != null) {
+            return Optional.of(user.detachedCopy());
+        }
+        Optional<User> loaded = userRepository.findById(userId);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    // 사용자 정보 변경 시 캐시 제거
+    public void invalidate(User user) {
+        if (!enabled || user == null) {
+            return;
+        }
+        Long userId = user.getId();
+        String email = user.getEmail();
+        evict(userId, email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId, email);
+                }
+            });
+        }
+    }
+
+    // 엔티티를 거치지 않고 변경된 사용자 제거 (이메일 매핑은 ID 항목이 없으면 사용되지 않음)
+    public void invalidate(Long userId) {
+        if (enabled && userId != null) {
+            byId.invalidate(userId);
+        }
+    }
+
+    public void invalidateAll(Collection<Long> userIds) {
+        if (enabled) {
+            byId.invalidateAll(userIds);
+        }
+    }
+
+    // 호출자가 받은 엔티티는 캐시와 분리된 복사본으로 보관
+    private void put(User user) {
+        byId.put(user.getId(), user.detachedCopy());
+        byEmail.put(user.getEmail(), user.getId());
+    }
+
+    private void evict(Long userId, String email) {
+        if (userId != null) {
+            byId.invalidate(userId);
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    private static <K, V> Cache<K, V> newCache(long ttlSeconds, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+}
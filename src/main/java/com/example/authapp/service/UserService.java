@@ -23,6 +23,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final EntityManager entityManager;
     private final FileUploadService fileUploadService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final UserAvailabilityIndex userAvailabilityIndex;
 
     // 사용자 ID로 조회
     public Optional<User> findById(Long id) {
@@ -39,6 +41,23 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
+    // 로그인 자격 정보 조회 (이메일 또는 아이디)
+    public Optional<UserRepository.LoginCredentialView> findLoginCredential(String loginId) {
+        return userRepository.findLoginCredentials(loginId).stream().findFirst();
+    }
+
+    // 토큰 발급용 사용자 정보 조회
+    public Optional<UserRepository.LoginSubjectView> findLoginSubject(Long id) {
+        return userRepository.findLoginSubjectById(id);
+    }
+
+    // 비밀번호 해시 교체 (엔티티를 조회하지 않고 갱신)
+    @Transactional
+    public void updatePassword(Long id, String encodedPassword) {
+        userRepository.updatePassword(id, encodedPassword);
+        userPrincipalCache.invalidate(id);
+    }
+
     // 제공자와 제공자 ID로 사용자 조회
     public Optional<User> findByProviderAndProviderId(Provider provider, String providerId) {
         return userRepository.findByProviderAndProviderId(provider, providerId);
@@ -63,6 +82,7 @@ public class UserService {
             
             user.updateBasicProfile(oAuthUserInfo.getName(), profileImageUrl);
             log.info("Updated existing user: {} from provider: {}", email, provider);
+            userPrincipalCache.invalidate(user);
             return userRepository.save(user);
         }
 
@@ -79,6 +99,7 @@ public class UserService {
         // 3. 새 사용자 생성
         User newUser = createUserByProvider(provider, oAuthUserInfo);
         User savedUser = userRepository.save(newUser);
+        userAvailabilityIndex.recordUser(savedUser.getEmail(), savedUser.getUsername());
         log.info("Created new user: {} from provider: {}", email, provider);
 
         return savedUser;
@@ -136,6 +157,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다. ID: " + userId));
 
         user.updateBasicProfile(name, profileImage);
+        userPrincipalCache.invalidate(user);
         return userRepository.save(user);
     }
 
@@ -169,6 +191,7 @@ public class UserService {
         );
         
         User savedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(savedUser);
         entityManager.flush(); // 명시적으로 flush
         
         // 데이터베이스에서 직접 다시 조회
@@ -196,9 +219,10 @@ public class UserService {
         return userRepository.existsByProviderAndProviderId(provider, providerId);
     }
 
-    // 사용자 저장
+    // 사용자 저장 (로그인/로그아웃 상태, 권한 변경 등 - 인증 주체 캐시도 제거)
     @Transactional
     public User save(User user) {
+        userPrincipalCache.invalidate(user);
         return userRepository.save(user);
     }
 
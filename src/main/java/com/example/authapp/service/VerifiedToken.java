@@ -0,0 +1,43 @@
+package com.example.authapp.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+
+import java.time.Instant;
+
+/**
+ * 서명 검증이 끝난 Access Token의 클레임 스냅샷 (불변)
+ */
+public record VerifiedToken(
+        Long userId,
+        String email,
+        String role,
+        String provider,
+        String jti,
+        int tokenEpoch,
+        Instant expiration) {
+
+    // 검증된 클레임에서 생성
+    public static VerifiedToken from(Claims claims) {
+        String subject = claims.getSubject();
+        if (subject == null || subject.isBlank()) {
+            throw new MalformedJwtException("JWT token has no subject");
+        }
+
+        Integer tokenEpoch = claims.get("tokenEpoch", Integer.class);
+        return new VerifiedToken(
+                claims.get("userId", Long.class),
+                subject,
+                claims.get("role", String.class),
+                claims.get("provider", String.class),
+                claims.getId(),
+                tokenEpoch != null ? tokenEpoch : 0, // epoch 도입 이전 토큰은 0
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    // 만료 여부 확인
+    public boolean isExpired() {
+        return !expiration.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.authapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * 검증된 Access Token 캐시
+ * - 키: 토큰 원문의 SHA-256 다이제스트 (원문 토큰은 메모리에 보관하지 않음)
+ * - 값: 서명 검증이 끝난 클레임 (VerifiedToken)
+ * - 각 엔트리는 늦어도 토큰의 exp 시점에 만료됨
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.enabled:true}") boolean enabled,
+            @Value("${jwt.cache.max-size:100000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            // 적중/미스/제거 횟수를 actuator metrics(cache.gets, cache.evictions 등)로 노출
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+        log.info("Verified token cache enabled: {}, max size: {}", enabled, maxSize);
+    }
+
+    // 캐시 조회 - 없으면 verifier로 검증 후 저장 (검증 실패 시 예외는 그대로 전파되고 캐시되지 않음)
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        String key = digest(token);
+        VerifiedToken verifiedToken = cache.get(key, k -> verifier.apply(token));
+
+        // 캐시 만료 타이머와 시계 오차가 있을 수 있으므로 exp를 한 번 더 확인
+        if (verifiedToken.isExpired()) {
+            cache.invalidate(key);
+            return verifier.apply(token);
+        }
+        return verifiedToken;
+    }
+
+    // 특정 토큰 캐시 제거
+    public void invalidate(String token) {
+        if (enabled) {
+            cache.invalidate(digest(token));
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // 엔트리 수명 = 토큰의 남은 유효 시간
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remaining = Duration.between(Instant.now(), value.expiration()).toNanos();
+            return Math.max(remaining, 0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.authapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    void rehashesOnlyWhenStoredCostIsLower() {
+        CalibratedBCryptPasswordEncoder current = new CalibratedBCryptPasswordEncoder(5);
+        String lower = new CalibratedBCryptPasswordEncoder(4).encode("password123");
+        String higher = new CalibratedBCryptPasswordEncoder(6).encode("password123");
+
+        assertThat(current.matches("password123", lower)).isTrue();
+        assertThat(current.upgradeEncoding(lower)).isTrue();
+        assertThat(current.upgradeEncoding(higher)).isFalse();
+        assertThat(current.upgradeEncoding(current.encode("password123"))).isFalse();
+        assertThat(current.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(Duration.ZERO, 4, 6).getStrength()).isEqualTo(4);
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(Duration.ofSeconds(10), 4, 6).getStrength()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.authapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntrospectionClientAuthenticationProviderTest {
+
+    private final IntrospectionClientAuthenticationProvider provider =
+            new IntrospectionClientAuthenticationProvider("resource-server:s3cret, reports:other");
+
+    @Test
+    void authenticatesRegisteredClient() {
+        Authentication result = provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("resource-server", "s3cret"));
+
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getAuthorities()).extracting("authority")
+                .containsExactly(IntrospectionClientAuthenticationProvider.ROLE);
+    }
+
+    @Test
+    void rejectsWrongSecretUnknownClientAndEmptyRegistry() {
+        assertThatThrownBy(() -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("resource-server", "other")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("unknown", "s3cret")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> new IntrospectionClientAuthenticationProvider("").authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("resource-server", "s3cret")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+}
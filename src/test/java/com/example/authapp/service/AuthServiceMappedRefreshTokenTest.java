@@ -0,0 +1,104 @@
+package com.example.authapp.service;
+
+import com.example.authapp.dto.response.TokenInfo;
+import com.example.authapp.entity.User;
+import com.example.authapp.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 메모리 맵 세션 저장소의 재발급 경로 - JPA 트랜잭션과 SQL 없이 세션에 보관된 소유자 정보로 발급
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jwt.principal-cache.enabled=false",
+        "jwt.session.store=mapped",
+        "jwt.session.mapped.capacity=1024"
+})
+@ActiveProfiles("test")
+class AuthServiceMappedRefreshTokenTest {
+
+    @DynamicPropertySource
+    static void sessionDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("mapped-refresh-test").toString();
+        registry.add("jwt.session.mapped.dir", () -> directory);
+    }
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.createRegularUser(
+                "mapped-" + suffix + "@example.com", "mp" + suffix, "Mapped Test", "password", null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenService.deleteAllSessions(user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void refreshRunsWithoutTransactionOrSql() {
+        String refreshToken = refreshTokenService.createRefreshToken(user, "web", null);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TokenInfo tokenInfo = authService.refreshToken(refreshToken);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getTransactionCount()).isZero();
+        assertThat(jwtService.verify(tokenInfo.getAccessToken()).email()).isEqualTo(user.getEmail());
+    }
+
+    @Test
+    void staleOwnerIsReloadedOnceAndStoredWithRotation() {
+        String refreshToken = refreshTokenService.createRefreshToken(user, "web", null);
+        tokenEpochRegistry.revokeAll(user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // epoch가 지난 소유자 정보는 사용하지 않고 사용자를 다시 조회
+        TokenInfo reloaded = authService.refreshToken(refreshToken);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(jwtService.verify(reloaded.getAccessToken()).tokenEpoch()).isEqualTo(1);
+
+        // 다시 조회한 소유자 정보는 교체와 함께 기록되어 다음 재발급은 조회 없이 처리
+        statistics.clear();
+        TokenInfo next = authService.refreshToken(reloaded.getRefreshToken());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(jwtService.verify(next.getAccessToken()).tokenEpoch()).isEqualTo(1);
+    }
+}
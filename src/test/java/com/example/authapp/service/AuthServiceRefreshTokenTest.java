@@ -0,0 +1,79 @@
+package com.example.authapp.service;
+
+import com.example.authapp.dto.response.TokenInfo;
+import com.example.authapp.entity.User;
+import com.example.authapp.repository.RefreshTokenRepository;
+import com.example.authapp.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 인증 주체 캐시는 끔 - 캐시 적중 여부와 관계없이 재발급 경로 자체의 SQL 수만 측정
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jwt.principal-cache.enabled=false"
+})
+@ActiveProfiles("test")
+class AuthServiceRefreshTokenTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.createRegularUser(
+                "refresh-" + suffix + "@example.com", "rf" + suffix, "Refresh Test", "password", null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll(refreshTokenRepository.findAllByUserId(user.getId()));
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void refreshUsesOneFetchJoinedSelectOneUpdateAndOneHistoryInsert() {
+        String refreshToken = refreshTokenService.createRefreshToken(user, "web", null);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TokenInfo tokenInfo = authService.refreshToken(refreshToken);
+
+        // 토큰+사용자 fetch join 조회 1회, 교체 UPDATE 1회, 교체된 해시 기록 INSERT 1회 (재사용 감지용)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        // RefreshToken과 User는 같은 조회로 적재되고, 소유자 조회는 영속성 컨텍스트에서 처리 (User 추가 조회 없음)
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(tokenInfo.getAccessTokenExpiresIn()).isEqualTo(jwtService.getAccessTokenExpiresIn());
+        assertThat(tokenInfo.getRefreshTokenExpiresIn()).isEqualTo(jwtService.getRefreshTokenExpiresIn());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.authapp.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Hs256TokenCodecTest {
+
+    private final SecretKey secretKey =
+            Keys.hmacShaKeyFor("test-secret-key-for-hs256-codec-0123456789".getBytes(StandardCharsets.UTF_8));
+    private final Hs256TokenCodec codec = new Hs256TokenCodec(secretKey);
+    private final String jti = UUID.randomUUID().toString();
+
+    @Test
+    void encodeIsByteCompatibleWithJjwt() {
+        long iat = Instant.now().getEpochSecond();
+        long exp = iat + 86400;
+
+        String fastPath = codec.encode(42L, "홍길동@example.com", "USER", "google", jti, 3, iat, exp);
+
+        assertThat(fastPath).isEqualTo(jjwtToken(42L, "홍길동@example.com", "USER", "google", jti, 3, iat, exp));
+    }
+
+    @Test
+    void verifyReturnsClaimsOfJjwtToken() {
+        long iat = Instant.now().getEpochSecond();
+        String token = jjwtToken(7L, "user@example.com", "ADMIN", "REGULAR", jti, 3, iat, iat + 60);
+
+        VerifiedToken verified = codec.verify(token);
+
+        assertThat(verified).isEqualTo(new VerifiedToken(
+                7L, "user@example.com", "ADMIN", "REGULAR", jti, 3, Instant.ofEpochSecond(iat + 60)));
+    }
+
+    @Test
+    void tokenMintedByCodecParsesWithJjwt() {
+        long iat = Instant.now().getEpochSecond();
+        String token = codec.encode(1L, "user@example.com", "USER", "naver", jti, 3, iat, iat + 60);
+
+        Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+
+        assertThat(claims.getSubject()).isEqualTo("user@example.com");
+        assertThat(claims.get("userId", Long.class)).isEqualTo(1L);
+        assertThat(claims.get("provider", String.class)).isEqualTo("naver");
+        assertThat(claims.getId()).isEqualTo(jti);
+        assertThat(claims.get("tokenEpoch", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void fallsBackForTamperedExpiredOrUnknownShapes() {
+        long iat = Instant.now().getEpochSecond();
+        String token = codec.encode(1L, "user@example.com", "USER", "naver", jti, 3, iat, iat + 60);
+
+        assertThat(codec.verify(token.substring(0, token.length() - 2) + "AA")).isNull();
+        assertThat(codec.verify(codec.encode(1L, "user@example.com", "USER", "naver", jti, 3, iat - 120, iat - 60))).isNull();
+        assertThat(codec.verify(Jwts.builder()
+                .claim("userId", 1L)
+                .claim("scope", "extra")
+                .subject("user@example.com")
+                .expiration(new Date((iat + 60) * 1000))
+                .signWith(secretKey)
+                .compact())).isNull();
+        assertThat(codec.encode(1L, "quote\"@example.com", "USER", "naver", jti, 3, iat, iat + 60)).isNull();
+    }
+
+    @SuppressWarnings("deprecation")
+    private String jjwtToken(long userId, String email, String role, String provider, String jti,
+                             int tokenEpoch, long iat, long exp) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", role);
+        claims.put("provider", provider);
+        claims.put("userId", userId);
+        claims.put("email", email);
+        claims.put("jti", jti);
+        claims.put("tokenEpoch", tokenEpoch);
+
+        return Jwts.builder()
+                .claims(claims)
+                .subject(email)
+                .issuedAt(new Date(iat * 1000))
+                .expiration(new Date(exp * 1000))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.authapp.service;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "ZGVmYXVsdFNlY3JldEtleUZvckRldmVsb3BtZW50T25seTEyMzQ1Njc4OQ==";
+
+    @TempDir
+    Path keyDir;
+
+    @Test
+    void verifiesTokensSignedWithKeyRotatedByAnotherInstance() {
+        JwtKeyRing rotating = keyRing();
+        JwtKeyRing other = keyRing();
+        assertThat(other.getActiveKeyId()).isEqualTo(rotating.getActiveKeyId());
+
+        String kid = rotating.rotate();
+        String token = rotating.sign(Jwts.builder().subject("1")).compact();
+
+        // 알 수 없는 kid를 만나면 공유 디렉토리를 다시 읽어 검증
+        String subject = Jwts.parser().keyLocator(other.keyLocator()).build()
+                .parseSignedClaims(token).getPayload().getSubject();
+        assertThat(subject).isEqualTo("1");
+        assertThat(other.getActiveKeyId()).isEqualTo(kid);
+    }
+
+    private JwtKeyRing keyRing() {
+        return new JwtKeyRing(SECRET, JwtKeyRing.Algorithm.EdDSA, true, keyDir.toString(), 86400);
+    }
+}
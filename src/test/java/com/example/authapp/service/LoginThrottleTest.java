@@ -0,0 +1,66 @@
+package com.example.authapp.service;
+
+import com.example.authapp.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginThrottle throttle = new LoginThrottle(true, 4, Duration.ofMinutes(1), 2, Duration.ofMinutes(1),
+            1000, Duration.ofMinutes(10), meterRegistry);
+
+    @Test
+    void rejectsLoginIdAfterFailuresOverCapacityRegardlessOfCase() {
+        throttle.check("10.0.0.1", "user@example.com");
+        throttle.recordFailure("user@example.com");
+        throttle.check("10.0.0.2", " USER@example.com ");
+        throttle.recordFailure(" USER@example.com ");
+
+        assertThatThrownBy(() -> throttle.check("10.0.0.3", "user@example.com"))
+                .isInstanceOf(LoginThrottledException.class)
+                .satisfies(e -> assertThat(((LoginThrottledException) e).getRetryAfterSeconds()).isBetween(1L, 30L));
+        assertThatCode(() -> throttle.check("10.0.0.3", "other@example.com")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("auth.login.throttled").tag("scope", "login-id").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void successfulAttemptsDoNotSpendLoginIdTokens() {
+        for (int i = 0; i < 3; i++) {
+            throttle.check("10.0.0." + (20 + i), "user@example.com");
+        }
+
+        assertThatCode(() -> throttle.check("10.0.0.30", "user@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsIpOverCapacityWithoutSpendingLoginIdTokens() {
+        for (int i = 0; i < 4; i++) {
+            throttle.check("10.0.0.9", "user" + i);
+        }
+
+        assertThatThrownBy(() -> throttle.check("10.0.0.9", "victim"))
+                .isInstanceOf(LoginThrottledException.class);
+        throttle.check("10.0.0.10", "victim");
+        throttle.check("10.0.0.11", "victim");
+        assertThat(meterRegistry.get("auth.login.throttled").tag("scope", "ip").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void availabilityChecksShareIpBucketWithLogins() {
+        for (int i = 0; i < 4; i++) {
+            throttle.checkIp("10.0.0.12");
+        }
+
+        assertThatThrownBy(() -> throttle.checkIp("10.0.0.12"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatThrownBy(() -> throttle.check("10.0.0.12", "user@example.com"))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+}
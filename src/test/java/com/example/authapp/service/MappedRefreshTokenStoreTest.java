@@ -0,0 +1,181 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.Provider;
+import com.example.authapp.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class MappedRefreshTokenStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void rotatesOnlyWithCurrentHashAndKeepsPreviousHash() throws IOException {
+        MappedRefreshTokenStore store = open();
+        byte[] first = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        byte[] second = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+
+        long id = store.upsert(owner(1L), "web", "Mozilla/5.0", first, UUID.randomUUID().toString(), now.plusDays(7), now);
+
+        assertThat(store.rotate(id, first, second, now.plusDays(7), now, null)).isTrue();
+        assertThat(store.rotate(id, first, second, now.plusDays(7), now, null)).isFalse();
+        RefreshSession session = store.findById(id).orElseThrow();
+        assertThat(session.tokenHash()).isEqualTo(second);
+        assertThat(session.previousHash()).isEqualTo(first);
+        assertThat(session.deviceId()).isEqualTo("web");
+        store.close();
+    }
+
+    @Test
+    void keepsOwnerForAccessTokensAndReplacesItOnlyWhenGiven() throws IOException {
+        MappedRefreshTokenStore store = open();
+        byte[] first = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        byte[] second = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        byte[] third = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        SessionOwner owner = new SessionOwner(1L, "owner@example.com", Role.USER, Provider.GOOGLE, 0);
+
+        long id = store.upsert(owner, "web", "Mozilla/5.0", first, UUID.randomUUID().toString(), now.plusDays(7), now);
+        assertThat(store.findById(id).orElseThrow().owner()).isEqualTo(owner);
+
+        store.rotate(id, first, second, now.plusDays(7), now, null);
+        assertThat(store.findById(id).orElseThrow().owner()).isEqualTo(owner);
+
+        // 권한 변경 등으로 다시 조회한 소유자 정보는 교체와 함께 기록
+        SessionOwner promoted = new SessionOwner(1L, "owner@example.com", Role.ADMIN, Provider.GOOGLE, 1);
+        store.rotate(id, second, third, now.plusDays(7), now, promoted);
+        RefreshSession session = store.findById(id).orElseThrow();
+        assertThat(session.owner()).isEqualTo(promoted);
+        assertThat(session.userAgent()).isEqualTo("Mozilla/5.0");
+        store.close();
+
+        MappedRefreshTokenStore reopened = open();
+        assertThat(reopened.findById(id).orElseThrow().owner()).isEqualTo(promoted);
+        reopened.close();
+    }
+
+    @Test
+    void skipsOwnerWhenEmailDoesNotFit() throws IOException {
+        MappedRefreshTokenStore store = open();
+        byte[] hash = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        SessionOwner owner = new SessionOwner(1L, "a".repeat(120) + "@example.com", Role.USER, null, 0);
+
+        long id = store.upsert(owner, "web", "x".repeat(300), hash, UUID.randomUUID().toString(), now.plusDays(7), now);
+
+        RefreshSession session = store.findById(id).orElseThrow();
+        assertThat(session.owner()).isNull();
+        assertThat(session.userAgent()).hasSize(126);
+        store.close();
+    }
+
+    @Test
+    void remembersRotatedHashesOfCurrentFamilyOnly() throws IOException {
+        MappedRefreshTokenStore store = open();
+        String family = UUID.randomUUID().toString();
+        byte[][] hashes = new byte[40][];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        }
+
+        long id = store.upsert(owner(1L), "web", null, hashes[0], family, now.plusDays(7), now);
+        for (int i = 1; i < hashes.length; i++) {
+            store.rotate(id, hashes[i - 1], hashes[i], now.plusDays(7), now, null);
+        }
+
+        // 최근 31개만 보관 (현재 토큰은 기록 대상 아님)
+        assertThat(store.isRotatedToken(id, family, hashes[38])).isTrue();
+        assertThat(store.isRotatedToken(id, family, hashes[8])).isTrue();
+        assertThat(store.isRotatedToken(id, family, hashes[7])).isFalse();
+        assertThat(store.isRotatedToken(id, family, hashes[39])).isFalse();
+
+        // 같은 기기 재로그인으로 계열이 바뀌면 이전 계열의 기록은 비교하지 않음
+        store.upsert(owner(1L), "web", null, hashes[0], UUID.randomUUID().toString(), now.plusDays(7), now);
+        assertThat(store.isRotatedToken(id, family, hashes[38])).isFalse();
+        store.close();
+    }
+
+    @Test
+    void sameDeviceReplacesSessionAndDeletedIdsAreNotReused() throws IOException {
+        MappedRefreshTokenStore store = open();
+        byte[] hash = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+
+        long web = store.upsert(owner(1L), "web", null, hash, UUID.randomUUID().toString(), now.plusDays(7), now);
+        long again = store.upsert(owner(1L), "web", null, hash, UUID.randomUUID().toString(), now.plusDays(7), now);
+        long phone = store.upsert(owner(1L), "phone", null, hash, UUID.randomUUID().toString(), now.plusDays(7), now);
+        store.upsert(owner(2L), "web", null, hash, UUID.randomUUID().toString(), now.plusDays(7), now);
+
+        assertThat(again).isEqualTo(web);
+        assertThat(store.countByUserId(1L)).isEqualTo(2);
+        assertThat(store.deleteByIdAndUserId(phone, 2L)).isFalse();
+        assertThat(store.deleteById(phone)).isTrue();
+
+        long reused = store.upsert(owner(1L), "tablet", null, hash, UUID.randomUUID().toString(), now.plusDays(7), now);
+        assertThat(reused).isNotEqualTo(phone);
+        assertThat(store.findById(phone)).isEmpty();
+        assertThat(store.findActiveByUserId(1L, now)).hasSize(2);
+        assertThat(store.findActiveByUserId(2L, now)).hasSize(1);
+        store.close();
+    }
+
+    @Test
+    void recoversFromWalAndIgnoresTornTail() throws IOException {
+        MappedRefreshTokenStore store = open();
+        byte[] first = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        byte[] second = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        long id = store.upsert(owner(1L), "web", null, first, UUID.randomUUID().toString(), now.plusDays(7), now);
+        store.rotate(id, first, second, now.plusDays(7), now, null);
+        byte[] wal = Files.readAllBytes(directory.resolve("sessions.wal"));
+        store.close();
+
+        // 체크포인트 전에 종료된 상황 - 맵 파일에는 변경이 반영되지 않았고 WAL 마지막 항목은 기록 도중 중단
+        try (FileChannel records = FileChannel.open(directory.resolve("sessions.dat"), StandardOpenOption.WRITE)) {
+            records.write(ByteBuffer.wrap(new byte[512]), (id & 0xFFFFFFFFL) * 512);
+        }
+        byte[] torn = Arrays.copyOf(wal, wal.length + 100);
+        Files.write(directory.resolve("sessions.wal"), torn);
+
+        MappedRefreshTokenStore reopened = open();
+        RefreshSession session = reopened.findById(id).orElseThrow();
+        assertThat(session.tokenHash()).isEqualTo(second);
+        assertThat(session.previousHash()).isEqualTo(first);
+        assertThat(reopened.existsByUserId(1L)).isTrue();
+        assertThat(Files.size(directory.resolve("sessions.wal"))).isZero();
+        reopened.close();
+    }
+
+    @Test
+    void scheduledJobsDoNothingAfterClose() throws IOException {
+        MappedRefreshTokenStore store = open();
+        byte[] hash = OpaqueRefreshToken.hash(OpaqueRefreshToken.newSecret());
+        store.upsert(owner(1L), "web", null, hash, UUID.randomUUID().toString(), now.minusDays(1), now.minusDays(8));
+        store.close();
+
+        assertThatCode(store::purgeExpired).doesNotThrowAnyException();
+        assertThatCode(store::checkpoint).doesNotThrowAnyException();
+        assertThatCode(store::close).doesNotThrowAnyException();
+    }
+
+    private static SessionOwner owner(long userId) {
+        return new SessionOwner(userId, "user" + userId + "@example.com", Role.USER, null, 0);
+    }
+
+    private MappedRefreshTokenStore open() throws IOException {
+        return new MappedRefreshTokenStore(directory.toString(), 1024, false, 1 << 20, 100, new SimpleMeterRegistry());
+    }
+}
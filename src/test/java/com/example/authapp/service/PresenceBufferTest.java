@@ -0,0 +1,74 @@
+package com.example.authapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PresenceBufferTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PresenceBuffer buffer = new PresenceBuffer(jdbcTemplate, mock(UserPrincipalCache.class), 100, new SimpleMeterRegistry());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesRepeatedUpdatesIntoOneRowPerUser() {
+        buffer.recordLogin(1L);
+        buffer.recordLogin(1L);
+        buffer.recordLogout(1L); // 로그인 시각은 유지하고 오프라인
+        buffer.recordLogout(2L);
+
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> logins = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> onlineChanges = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE users SET last_login_at = ?, is_online = ? WHERE id = ?"), logins.capture());
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE users SET is_online = ? WHERE id = ?"), onlineChanges.capture());
+        assertThat(logins.getValue()).singleElement()
+                .satisfies(row -> assertThat(row).hasSize(3).endsWith(false, 1L));
+        assertThat(onlineChanges.getValue()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(false, 2L));
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void failedFlushIsRetriedAndShutdownDrainsTheBuffer() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(new int[]{1});
+
+        buffer.recordLogin(1L);
+        buffer.flush();
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+
+        buffer.flushOnShutdown();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void flushesEarlyWhenPendingLimitIsReached() {
+        PresenceBuffer small = new PresenceBuffer(jdbcTemplate, mock(UserPrincipalCache.class), 3, new SimpleMeterRegistry());
+
+        small.recordLogin(1L);
+        small.recordLogin(2L);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        small.recordLogin(3L);
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThat(small.pendingCount()).isZero();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.authapp.service;
+
+import com.example.authapp.dto.response.TokenInfo;
+import com.example.authapp.exception.RefreshTokenReuseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenCoalescerTest {
+
+    private static final int BURST = 32;
+
+    private final AuthService authService = mock(AuthService.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final RefreshTokenCoalescer coalescer = new RefreshTokenCoalescer(
+            authService, refreshTokenService, true, Duration.ofSeconds(5), 1000, new SimpleMeterRegistry());
+
+    @Test
+    void burstOfRefreshesForSameTokenRunsOnceAndOnlyLeaderGetsRefreshToken() throws Exception {
+        TokenInfo issued = TokenInfo.of("access", "1.refresh", 86400L, 604800L);
+        when(authService.refreshToken("1.token")).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(200); // DB 경로 소요 시간
+            return issued;
+        });
+        when(refreshTokenService.findByToken("1.refresh")).thenReturn(Optional.of(mock(RefreshSession.class)));
+
+        List<TokenInfo> results = burst(() -> coalescer.refresh("1.token"));
+
+        assertThat(results).hasSize(BURST).allSatisfy(result -> assertThat(result.getAccessToken()).isEqualTo("access"));
+        assertThat(results).filteredOn(result -> result.getRefreshToken() != null).containsExactly(issued);
+        verify(authService, times(1)).refreshToken("1.token");
+
+        // grace 기간 안의 재요청은 Access Token만
+        TokenInfo replay = coalescer.refresh("1.token");
+        assertThat(replay.getAccessToken()).isEqualTo("access");
+        assertThat(replay.getRefreshToken()).isNull();
+        verify(authService, times(1)).refreshToken("1.token");
+    }
+
+    @Test
+    void graceResultIsDroppedOnceSessionIsRevoked() {
+        TokenInfo issued = TokenInfo.of("access", "3.refresh", 86400L, 604800L);
+        when(authService.refreshToken("3.token"))
+                .thenReturn(issued)
+                .thenThrow(new RefreshTokenReuseException("이미 사용된 Refresh Token입니다."));
+        when(refreshTokenService.findByToken("3.refresh")).thenReturn(Optional.empty()); // 로그아웃됨
+
+        assertThat(coalescer.refresh("3.token")).isSameAs(issued);
+        assertThatThrownBy(() -> coalescer.refresh("3.token")).isInstanceOf(RefreshTokenReuseException.class);
+        verify(authService, times(2)).refreshToken("3.token");
+    }
+
+    @Test
+    void waitersReceiveLeaderFailureAndFailuresAreNotCached() throws Exception {
+        when(authService.refreshToken("2.token")).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            throw new RefreshTokenReuseException("이미 사용된 Refresh Token입니다.");
+        });
+
+        List<TokenInfo> results = burst(() -> {
+            try {
+                return coalescer.refresh("2.token");
+            } catch (RefreshTokenReuseException e) {
+                return null;
+            }
+        });
+
+        assertThat(results).containsOnlyNulls();
+        verify(authService, times(1)).refreshToken("2.token");
+        assertThatThrownBy(() -> coalescer.refresh("2.token")).isInstanceOf(RefreshTokenReuseException.class);
+        verify(authService, times(2)).refreshToken("2.token");
+    }
+
+    private List<TokenInfo> burst(Callable<TokenInfo> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BURST);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<TokenInfo>> futures = new ArrayList<>();
+            for (int i = 0; i < BURST; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<TokenInfo> results = new ArrayList<>();
+            for (Future<TokenInfo> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.User;
+import com.example.authapp.exception.RefreshTokenReuseException;
+import com.example.authapp.repository.RefreshTokenRepository;
+import com.example.authapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenConcurrencyTest {
+
+    private static final int PARALLEL_LOGINS = 16;
+    private static final String DEVICE_ID = "test-device";
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.createRegularUser(
+                "rt-" + suffix + "@example.com", "rt" + suffix, "Refresh Test", "password", null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll(refreshTokenRepository.findAllByUserId(user.getId()));
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void parallelLoginsFromSameDeviceLeaveExactlyOneToken() throws Exception {
+        List<String> issued = runInParallel(() -> refreshTokenService.createRefreshToken(user, DEVICE_ID, null));
+
+        assertThat(issued).hasSize(PARALLEL_LOGINS).doesNotHaveDuplicates();
+        assertThat(issued.stream().filter(token -> refreshTokenService.findByToken(token).isPresent()).count())
+                .isEqualTo(1);
+        assertThat(refreshTokenRepository.findAllByUserId(user.getId())).hasSize(1);
+    }
+
+    @Test
+    void loginsFromOtherDevicesKeepExistingSessions() {
+        String web = refreshTokenService.createRefreshToken(user, "web", "Mozilla/5.0");
+        String phone = refreshTokenService.createRefreshToken(user, "phone", "okhttp/4.12");
+        String anonymous = refreshTokenService.createRefreshToken(user, null, null);
+
+        assertThat(refreshTokenService.findByToken(web)).isPresent();
+        assertThat(refreshTokenService.findByToken(phone)).isPresent();
+        assertThat(refreshTokenService.findByToken(anonymous)).isPresent();
+        assertThat(refreshTokenService.findSessions(user)).hasSize(3);
+    }
+
+    @Test
+    void parallelRotationsOfSameTokenAllowOnlyOneWinner() throws Exception {
+        String refreshToken = refreshTokenService.createRefreshToken(user, DEVICE_ID, null);
+
+        List<String> results = runInParallel(() -> {
+            try {
+                return refreshTokenService.rotateRefreshToken(refreshToken).refreshToken();
+            } catch (RuntimeException e) {
+                return null;
+            }
+        });
+
+        // 한 요청만 교체에 성공하고, 나머지는 동시 요청으로 거절될 뿐 세션은 유지됨
+        List<String> winners = results.stream().filter(r -> r != null).toList();
+        assertThat(winners).hasSize(1);
+        assertThat(refreshTokenService.findByToken(winners.get(0))).isPresent();
+        assertThat(refreshTokenRepository.findAllByUserId(user.getId())).hasSize(1);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTokenEpoch()).isZero();
+    }
+
+    @Test
+    void reuseOfRotatedTokenRevokesFamilyAndAccessTokens() {
+        String other = refreshTokenService.createRefreshToken(user, "other-device", null);
+        String first = refreshTokenService.createRefreshToken(user, DEVICE_ID, null);
+        String second = refreshTokenService.rotateRefreshToken(first).refreshToken();
+        // 교체 직후 재사용은 동시 요청으로 간주되므로 유예 시간이 지난 것으로 만듦
+        jdbcTemplate.update("UPDATE refresh_tokens SET last_used_at = ? WHERE user_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), user.getId());
+
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(first))
+                .isInstanceOf(RefreshTokenReuseException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(second))
+                .isNotInstanceOf(RefreshTokenReuseException.class);
+        // 다른 기기의 세션은 유지되고, 이미 발급된 Access Token은 epoch 증가로 모두 거부
+        assertThat(refreshTokenService.findByToken(other)).isPresent();
+        assertThat(refreshTokenRepository.findAllByUserId(user.getId())).hasSize(1);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTokenEpoch()).isEqualTo(1);
+    }
+
+    @Test
+    void reuseOfTokenRotatedSeveralTimesAgoIsDetected() {
+        String first = refreshTokenService.createRefreshToken(user, DEVICE_ID, null);
+        String second = refreshTokenService.rotateRefreshToken(first).refreshToken();
+        String third = refreshTokenService.rotateRefreshToken(second).refreshToken();
+        String fourth = refreshTokenService.rotateRefreshToken(third).refreshToken();
+
+        // 직전 토큰이 아니므로 교체 직후 유예 없이 재사용으로 판정
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(first))
+                .isInstanceOf(RefreshTokenReuseException.class);
+        assertThat(refreshTokenService.findByToken(fourth)).isEmpty();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTokenEpoch()).isEqualTo(1);
+    }
+
+    @Test
+    void guessedSecretForExistingSessionIsRejectedWithoutRevocation() {
+        String refreshToken = refreshTokenService.createRefreshToken(user, DEVICE_ID, null);
+        String guessed = OpaqueRefreshToken.format(OpaqueRefreshToken.parse(refreshToken).id(), OpaqueRefreshToken.newSecret());
+
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(guessed))
+                .isNotInstanceOf(RefreshTokenReuseException.class);
+        assertThat(refreshTokenService.findByToken(refreshToken)).isPresent();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTokenEpoch()).isZero();
+    }
+
+    @Test
+    void replayRightAfterRotationIsRejectedWithoutRevocation() {
+        String first = refreshTokenService.createRefreshToken(user, DEVICE_ID, null);
+        String second = refreshTokenService.rotateRefreshToken(first).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(first))
+                .isNotInstanceOf(RefreshTokenReuseException.class);
+        assertThat(refreshTokenService.findByToken(second)).isPresent();
+    }
+
+    private List<String> runInParallel(Callable<String> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_LOGINS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < PARALLEL_LOGINS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.RevokedToken;
+import com.example.authapp.repository.RevokedTokenRepository;
+import com.example.authapp.util.BloomFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenDenylistTest {
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+
+    @Test
+    void bloomFalsePositiveFallsBackToExactSet() {
+        // 예상 항목 1개짜리 필터 - 오탐이 나는 jti를 쉽게 찾을 수 있도록
+        TokenDenylist denylist = new TokenDenylist(revokedTokenRepository, 1);
+        denylist.revoke("revoked-jti", 1L, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        BloomFilter bloomFilter = (BloomFilter) ReflectionTestUtils.getField(denylist, "bloomFilter");
+        String falsePositive = null;
+        for (int i = 0; i < 100_000 && falsePositive == null; i++) {
+            String candidate = UUID.randomUUID().toString();
+            if (bloomFilter.mightContain(candidate)) {
+                falsePositive = candidate;
+            }
+        }
+
+        assertThat(falsePositive).isNotNull();
+        assertThat(denylist.isRevoked(falsePositive)).isFalse();
+        assertThat(denylist.isRevoked("revoked-jti")).isTrue();
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotRecorded() {
+        TokenDenylist denylist = new TokenDenylist(revokedTokenRepository, 100);
+
+        denylist.revoke("expired-jti", 1L, Instant.now().minusSeconds(1));
+
+        verify(revokedTokenRepository, never()).save(any());
+        assertThat(denylist.isRevoked("expired-jti")).isFalse();
+    }
+
+    @Test
+    void syncRereadsOverlapWindowForLateCommits() {
+        when(revokedTokenRepository.findMaxSeq()).thenReturn(150L);
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+        TokenDenylist denylist = new TokenDenylist(revokedTokenRepository, 100);
+        denylist.load();
+
+        // 150 이전에 seq를 받았지만 늦게 커밋된 무효화(120)도 겹치는 구간에서 반영
+        when(revokedTokenRepository.findAllBySeqGreaterThanOrderBySeq(50L))
+                .thenReturn(List.of(revokedToken("late-jti", 120L), revokedToken("new-jti", 160L)));
+        denylist.syncFromDatabase();
+
+        assertThat(denylist.isRevoked("late-jti")).isTrue();
+        assertThat(denylist.isRevoked("new-jti")).isTrue();
+
+        // 다음 동기화는 마지막 seq(160) 기준으로 다시 100개 겹쳐 읽고, 이미 반영한 항목은 중복 추가하지 않음
+        when(revokedTokenRepository.findAllBySeqGreaterThanOrderBySeq(60L))
+                .thenReturn(List.of(revokedToken("new-jti", 160L)));
+        denylist.syncFromDatabase();
+
+        verify(revokedTokenRepository).findAllBySeqGreaterThanOrderBySeq(60L);
+        assertThat(denylist.size()).isEqualTo(2);
+    }
+
+    private static RevokedToken revokedToken(String jti, long seq) {
+        RevokedToken token = RevokedToken.builder()
+                .jti(jti)
+                .userId(1L)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        ReflectionTestUtils.setField(token, "seq", seq);
+        return token;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.TokenEpochChange;
+import com.example.authapp.entity.User;
+import com.example.authapp.repository.TokenEpochChangeRepository;
+import com.example.authapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenEpochRegistryTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenEpochChangeRepository tokenEpochChangeRepository = mock(TokenEpochChangeRepository.class);
+    private final UserPrincipalCache userPrincipalCache = mock(UserPrincipalCache.class);
+    private final TokenEpochRegistry registry =
+            new TokenEpochRegistry(userRepository, tokenEpochChangeRepository, userPrincipalCache, 3600);
+
+    @Test
+    void revokeAllRejectsTokensIssuedBeforeTheBump() {
+        User user = user(1L);
+
+        registry.revokeAll(user);
+
+        assertThat(user.getTokenEpoch()).isEqualTo(1);
+        assertThat(registry.isStale(1L, 0)).isTrue();
+        assertThat(registry.isStale(1L, 1)).isFalse();
+        assertThat(registry.isStale(2L, 0)).isFalse(); // 다른 사용자는 영향 없음
+        verify(tokenEpochChangeRepository).save(any(TokenEpochChange.class));
+        verify(userPrincipalCache).invalidate(user);
+    }
+
+    @Test
+    void bumpInsideTransactionAppliesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.revokeAll(user(1L));
+            assertThat(registry.isStale(1L, 0)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(registry.isStale(1L, 0)).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void syncRereadsOverlapWindowAndEvictsChangedUsersOnce() {
+        when(tokenEpochChangeRepository.findMaxSeq()).thenReturn(150L);
+        when(userRepository.findAllTokenEpochs()).thenReturn(List.of());
+        when(tokenEpochChangeRepository.findAllBySeqGreaterThanOrderBySeq(0L)).thenReturn(List.of());
+        registry.load();
+
+        // 150 이전에 seq를 받았지만 늦게 커밋된 변경(120)도 겹치는 구간에서 반영
+        when(tokenEpochChangeRepository.findAllBySeqGreaterThanOrderBySeq(50L))
+                .thenReturn(List.of(change(7L, 2, 120L)));
+        registry.syncFromDatabase();
+
+        assertThat(registry.isStale(7L, 1)).isTrue();
+        assertThat(registry.isStale(7L, 2)).isFalse();
+
+        // 같은 변경을 다시 읽거나 더 낮은 epoch가 들어와도 되돌리지 않고 캐시도 다시 제거하지 않음
+        when(tokenEpochChangeRepository.findAllBySeqGreaterThanOrderBySeq(50L))
+                .thenReturn(List.of(change(7L, 2, 120L), change(7L, 1, 130L)));
+        registry.syncFromDatabase();
+
+        assertThat(registry.isStale(7L, 1)).isTrue();
+        verify(userPrincipalCache, times(1)).invalidate(7L);
+    }
+
+    private static User user(Long id) {
+        User user = User.createRegularUser("epoch" + id + "@example.com", "epoch" + id, "Epoch", "password", null, null);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    private static TokenEpochChange change(Long userId, int epoch, long seq) {
+        TokenEpochChange change = TokenEpochChange.builder()
+                .userId(userId)
+                .tokenEpoch(epoch)
+                .build();
+        ReflectionTestUtils.setField(change, "seq", seq);
+        return change;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.authapp.service;
+
+import com.example.authapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserAvailabilityIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserAvailabilityIndex index =
+            new UserAvailabilityIndex(jdbcTemplate, userRepository, 1000, new SimpleMeterRegistry());
+
+    @Test
+    void fallsBackToDatabaseUntilBuilt() {
+        when(userRepository.existsByEmail("taken@example.com")).thenReturn(true);
+
+        assertThat(index.isEmailTaken("taken@example.com")).isTrue();
+        verify(userRepository).existsByEmail("taken@example.com");
+    }
+
+    @Test
+    void negativesSkipDatabaseAndPositivesAreConfirmed() throws Exception {
+        streamUsers("taken@example.com", "taken");
+        index.rebuild();
+        when(userRepository.existsByEmail("Taken@Example.com")).thenReturn(true);
+
+        assertThat(index.isEmailTaken("free@example.com")).isFalse();
+        assertThat(index.isUsernameTaken("free")).isFalse();
+        verify(userRepository, never()).existsByEmail("free@example.com");
+        verify(userRepository, never()).existsByUsername("free");
+
+        assertThat(index.isEmailTaken("Taken@Example.com")).isTrue();
+        assertThat(index.isUsernameTaken("taken")).isFalse(); // 탈퇴 등으로 DB에 없으면 사용 가능
+        verify(userRepository).existsByUsername("taken");
+    }
+
+    @Test
+    void signupsAreVisibleImmediately() throws Exception {
+        streamUsers("taken@example.com", "taken");
+        index.rebuild();
+
+        index.recordUser("new@example.com", "newbie");
+        index.isUsernameTaken("newbie");
+
+        verify(userRepository).existsByUsername("newbie");
+    }
+
+    private void streamUsers(String email, String username) throws Exception {
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)).thenReturn(1L);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(1L);
+        when(row.getString("email")).thenReturn(email);
+        when(row.getString("username")).thenReturn(username);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
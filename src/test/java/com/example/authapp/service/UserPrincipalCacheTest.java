@@ -0,0 +1,55 @@
+package com.example.authapp.service;
+
+import com.example.authapp.entity.Role;
+import com.example.authapp.entity.User;
+import com.example.authapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserPrincipalCache cache =
+            new UserPrincipalCache(userRepository, true, 60, 100, new SimpleMeterRegistry());
+
+    @Test
+    void returnsIndependentCopiesSoCallersCannotChangeCachedValue() {
+        User loaded = user(1L, "cache@example.com");
+        when(userRepository.findByEmail("cache@example.com")).thenReturn(Optional.of(loaded));
+
+        User first = cache.findByEmail("cache@example.com").orElseThrow();
+        first.setRole(Role.ADMIN);
+        User second = cache.findByEmail("cache@example.com").orElseThrow();
+
+        assertThat(second).isNotSameAs(first).isNotSameAs(loaded);
+        assertThat(second.getRole()).isEqualTo(Role.USER);
+        verify(userRepository, times(1)).findByEmail("cache@example.com");
+    }
+
+    @Test
+    void invalidatingByIdReloadsEmailLookup() {
+        User loaded = user(2L, "evict@example.com");
+        when(userRepository.findByEmail("evict@example.com")).thenReturn(Optional.of(loaded));
+
+        cache.findByEmail("evict@example.com");
+        cache.invalidate(loaded.getId());
+        cache.findByEmail("evict@example.com");
+
+        verify(userRepository, times(2)).findByEmail("evict@example.com");
+    }
+
+    private static User user(Long id, String email) {
+        User user = User.createRegularUser(email, email.substring(0, email.indexOf('@')), "Cache Test", "hash", null, null);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+}